@@ -0,0 +1,151 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static java.nio.charset.CodingErrorAction.REPLACE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads a UTF-8 file with asynchronous reads into a ring of two reusable buffers: the next chunk is read while the
+ * current one is decoded and tokenized, so no thread waits for the disk. The bytes of a character split between
+ * two chunks are carried over to the next one, and the {@link ChunkTokenizer} takes care of split documents.
+ */
+class AsyncFileTokenizer implements CompletionHandler<Integer, Integer> {
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    static CompletableFuture<Void> parse(Path path, Consumer<Document> out) { return parse(path, BUFFER_SIZE, out); }
+
+    static CompletableFuture<Void> parse(Path path, int bufferSize, Consumer<Document> out) {
+        try {
+            AsyncFileTokenizer tokenizer = new AsyncFileTokenizer(AsynchronousFileChannel.open(path, READ), bufferSize, out);
+            tokenizer.read(0);
+            return tokenizer.done;
+        } catch (IOException | RuntimeException e) {
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private final AsynchronousFileChannel channel;
+    private final ByteBuffer[] buffers = new ByteBuffer[2];
+    private final int[] read = new int[2];
+    /** the up to three bytes of a character that is split between two buffers, plus the next byte */
+    private final ByteBuffer carry = ByteBuffer.allocate(4);
+    private final CharBuffer chars;
+    private final CharsetDecoder decoder = UTF_8.newDecoder().onMalformedInput(REPLACE).onUnmappableCharacter(REPLACE);
+    private final ChunkTokenizer tokenizer = new ChunkTokenizer();
+    private final Consumer<Document> out;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    /** a step continues when both the read of its buffer and the decoding of the previous buffer are finished */
+    private final AtomicInteger arrived = new AtomicInteger(1);
+    private long position;
+    private int step;
+
+    private AsyncFileTokenizer(AsynchronousFileChannel channel, int bufferSize, Consumer<Document> out) {
+        this.channel = channel;
+        for (int i = 0; i < buffers.length; i++)
+            buffers[i] = ByteBuffer.allocateDirect(bufferSize);
+        this.chars = CharBuffer.allocate(bufferSize);
+        this.out = out;
+    }
+
+    private void read(int slot) {
+        buffers[slot].clear();
+        channel.read(buffers[slot], position, slot, this);
+    }
+
+    @Override public void completed(Integer length, Integer slot) {
+        read[slot] = length;
+        arrive();
+    }
+
+    @Override public void failed(Throwable throwable, Integer slot) { fail(throwable); }
+
+    private void arrive() {
+        while (arrived.incrementAndGet() == 2) {
+            arrived.set(0);
+            if (!step())
+                return;
+        }
+    }
+
+    /** Start reading the next buffer and decode the current one; <code>false</code> when done or failed */
+    private boolean step() {
+        int slot = step++ % buffers.length;
+        try {
+            if (read[slot] < 0) {
+                finish();
+                return false;
+            }
+            position += read[slot];
+            read(1 - slot);
+            ByteBuffer bytes = buffers[slot];
+            bytes.flip();
+            decode(bytes);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+            return false;
+        }
+    }
+
+    private void decode(ByteBuffer bytes) throws CharacterCodingException {
+        while (carry.position() > 0 && bytes.hasRemaining()) {
+            carry.put(bytes.get());
+            carry.flip();
+            decode(carry, false);
+            carry.compact();
+        }
+        decode(bytes, false);
+        carry.put(bytes);
+    }
+
+    private void decode(ByteBuffer bytes, boolean endOfInput) throws CharacterCodingException {
+        while (true) {
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            if (result.isError())
+                result.throwException();
+            feed();
+            if (result.isUnderflow())
+                return;
+        }
+    }
+
+    private void feed() {
+        chars.flip();
+        tokenizer.feed(chars.array(), 0, chars.limit(), out);
+        chars.clear();
+    }
+
+    private void finish() throws IOException {
+        carry.flip();
+        decode(carry, true);
+        decoder.flush(chars);
+        feed();
+        Document last = tokenizer.finish();
+        if (last != null)
+            out.accept(last);
+        channel.close();
+        done.complete(null);
+    }
+
+    private void fail(Throwable throwable) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throwable.addSuppressed(e);
+        }
+        done.completeExceptionally(throwable);
+    }
+}
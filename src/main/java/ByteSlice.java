@@ -0,0 +1,33 @@
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/** UTF-8 encoded bytes that are only decoded when the characters are accessed */
+class ByteSlice implements CharSequence {
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int end;
+    private String decoded;
+
+    ByteSlice(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override public int length() { return toString().length(); }
+
+    @Override public char charAt(int index) { return toString().charAt(index); }
+
+    @Override public CharSequence subSequence(int start, int end) { return toString().subSequence(start, end); }
+
+    @Override public String toString() {
+        if (decoded == null) {
+            ByteBuffer bytes = buffer.duplicate();
+            bytes.limit(end);
+            bytes.position(start);
+            decoded = UTF_8.decode(bytes).toString();
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,127 @@
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+
+import static java.nio.charset.CodingErrorAction.REPLACE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Encodes text as UTF-8 directly into a ring of reusable byte buffers and writes them to a channel when they are
+ * all full, with one gathering write if the channel supports it. Reuse an instance to reuse its buffers.
+ */
+public class ChannelWriter implements Appendable, Flushable {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int BUFFER_COUNT = 4;
+    /** a surrogate pair is encoded into four bytes, which have to fit into one buffer */
+    private static final int MIN_BUFFER_SIZE = 4;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer[] buffers;
+    private final CharsetEncoder encoder = UTF_8.newEncoder().onMalformedInput(REPLACE).onUnmappableCharacter(REPLACE);
+    private final CharBuffer surrogates = CharBuffer.allocate(2);
+    private int current;
+    private boolean pendingHighSurrogate;
+
+    public ChannelWriter(WritableByteChannel channel) { this(channel, BUFFER_SIZE, BUFFER_COUNT); }
+
+    public ChannelWriter(WritableByteChannel channel, int bufferSize, int bufferCount) {
+        if (bufferSize < MIN_BUFFER_SIZE || bufferCount < 1)
+            throw new IllegalArgumentException("can't encode into " + bufferCount + " buffers of " + bufferSize + " bytes");
+        this.channel = channel;
+        this.buffers = new ByteBuffer[bufferCount];
+        for (int i = 0; i < bufferCount; i++)
+            buffers[i] = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /** Write the stream and flush */
+    public void write(Stream stream) throws IOException {
+        stream.writeTo(this);
+        flush();
+    }
+
+    @Override public ChannelWriter append(CharSequence text) throws IOException {
+        CharSequence chars = (text == null) ? "null" : text;
+        return append(chars, 0, chars.length());
+    }
+
+    @Override public ChannelWriter append(CharSequence text, int start, int end) throws IOException {
+        if (text == null)
+            return append("null", start, end);
+        while (pendingHighSurrogate && start < end) { // again pending, if the next char is a high surrogate, too
+            surrogates.put(text.charAt(start++));
+            surrogates.flip();
+            pendingHighSurrogate = false;
+            encode(surrogates);
+        }
+        if (start < end)
+            encode(CharBuffer.wrap(text, start, end));
+        return this;
+    }
+
+    @Override public ChannelWriter append(char c) throws IOException { return append(String.valueOf(c)); }
+
+    private void encode(CharBuffer chars) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffers[current], false);
+            if (result.isUnderflow())
+                break;
+            if (result.isOverflow())
+                next();
+            else
+                result.throwException();
+        }
+        if (chars.hasRemaining()) { // a high surrogate waiting for its low surrogate in the next append
+            char high = chars.get();
+            surrogates.clear();
+            surrogates.put(high);
+            pendingHighSurrogate = true;
+        }
+    }
+
+    private void next() throws IOException {
+        if (++current == buffers.length)
+            writeBuffers();
+    }
+
+    /** Encode a dangling high surrogate and write everything that's buffered to the channel */
+    @Override public void flush() throws IOException {
+        if (pendingHighSurrogate) {
+            surrogates.flip();
+            pendingHighSurrogate = false;
+        } else {
+            surrogates.clear();
+            surrogates.flip();
+        }
+        while (encoder.encode(surrogates, buffers[current], true).isOverflow())
+            next();
+        while (encoder.flush(buffers[current]).isOverflow())
+            next();
+        surrogates.clear();
+        encoder.reset();
+        writeBuffers();
+    }
+
+    private void writeBuffers() throws IOException {
+        int count = Math.min(current + 1, buffers.length);
+        for (int i = 0; i < count; i++)
+            buffers[i].flip();
+        if (channel instanceof GatheringByteChannel) {
+            GatheringByteChannel gathering = (GatheringByteChannel) channel;
+            for (int i = 0; i < count; i++)
+                while (buffers[i].hasRemaining())
+                    gathering.write(buffers, i, count - i);
+        } else {
+            for (int i = 0; i < count; i++)
+                while (buffers[i].hasRemaining())
+                    channel.write(buffers[i]);
+        }
+        for (int i = 0; i < count; i++)
+            buffers[i].clear();
+        current = 0;
+    }
+}
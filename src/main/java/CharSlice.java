@@ -0,0 +1,28 @@
+/** A view of a range of characters in a shared source, without copying them; only <code>toString</code> copies */
+class CharSlice implements CharSequence {
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+
+    CharSlice(CharSequence source, int start, int end) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override public int length() { return end - start; }
+
+    @Override public char charAt(int index) {
+        if (index < 0 || index >= length())
+            throw new IndexOutOfBoundsException("index " + index + " of " + length());
+        return source.charAt(start + index);
+    }
+
+    @Override public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length())
+            throw new IndexOutOfBoundsException("range " + start + ".." + end + " of " + length());
+        return new CharSlice(source, this.start + start, this.start + end);
+    }
+
+    @Override public String toString() { return source.subSequence(start, end).toString(); }
+}
@@ -0,0 +1,61 @@
+import java.util.function.Consumer;
+
+/**
+ * Push variant of the {@link Tokenizer}: the input arrives in chunks, so only the current document is buffered,
+ * and a separator may span several chunks.
+ */
+class ChunkTokenizer {
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private final CommentPool comments;
+    private StringBuilder current = new StringBuilder();
+    private int matched;
+    private int firstNewline = -1;
+    private boolean started;
+
+    ChunkTokenizer() { this(null); }
+
+    /** @param comments the pool to share the comments from, or <code>null</code> */
+    ChunkTokenizer(CommentPool comments) { this.comments = comments; }
+
+    void feed(char[] chars, int offset, int length, Consumer<Document> out) {
+        int segmentStart = offset;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c == '\n' && firstNewline < 0)
+                firstNewline = current.length() + i - segmentStart;
+            matched = Tokenizer.match(matched, c);
+            if (matched == Tokenizer.SEPARATOR.length()) {
+                current.append(chars, segmentStart, i + 1 - segmentStart);
+                segmentStart = i + 1;
+                out.accept(Tokenizer.document(current, 0, current.length() - Tokenizer.SEPARATOR.length(), firstNewline, comments));
+                reset();
+            }
+        }
+        current.append(chars, segmentStart, end - segmentStart);
+        started |= length > 0;
+    }
+
+    /** The last document, or <code>null</code> if there was no input at all */
+    Document finish() {
+        Document document = started ? Tokenizer.document(current, 0, current.length(), firstNewline, comments) : null;
+        reset();
+        started = false;
+        return document;
+    }
+
+    /** Forget any input and release the buffer, if a big document made it grow too much to keep it */
+    void clear() {
+        reset();
+        started = false;
+        if (current.capacity() > MAX_RETAINED_CAPACITY)
+            current = new StringBuilder();
+    }
+
+    private void reset() {
+        current.setLength(0);
+        matched = 0;
+        firstNewline = -1;
+    }
+}
@@ -1,8 +1,14 @@
 import lombok.Data;
 
+import java.io.IOException;
+
 @Data
 public class Comment {
     private String text;
 
-    @Override public String toString() { return "# " + text; }
+    public int length() { return 2 + String.valueOf(text()).length(); }
+
+    public void writeTo(Appendable out) throws IOException { out.append("# ").append(text()); }
+
+    @Override public String toString() { return "# " + text(); }
 }
@@ -0,0 +1,87 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded pool of comments, so documents with the same comment text share one {@link Comment} instance,
+ * even across parses. When full, the least recently used comment gets evicted.
+ * The shared comments are {@link ImmutableComment}s, so changing one for one document can't change it for others.
+ */
+public class CommentPool {
+    private final int capacity;
+    private final Map<Key, Comment> comments;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CommentPool(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive but is " + capacity);
+        this.capacity = capacity;
+        this.comments = new LinkedHashMap<Key, Comment>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<Key, Comment> eldest) {
+                if (size() <= CommentPool.this.capacity)
+                    return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /** The pooled comment with this text; the text is only copied into a String on a miss */
+    public synchronized Comment comment(CharSequence text) {
+        Comment comment = comments.get(new Key(text));
+        if (comment != null) {
+            hits++;
+            return comment;
+        }
+        misses++;
+        String string = text.toString();
+        comment = new ImmutableComment(string);
+        comments.put(new Key(string), comment);
+        return comment;
+    }
+
+    public int capacity() { return capacity; }
+
+    public synchronized int size() { return comments.size(); }
+
+    public synchronized long hits() { return hits; }
+
+    public synchronized long misses() { return misses; }
+
+    public synchronized long evictions() { return evictions; }
+
+    public synchronized void clear() { comments.clear(); }
+
+    @Override public synchronized String toString() {
+        return "CommentPool(size=" + comments.size() + "/" + capacity + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ")";
+    }
+
+    /** Compares the characters, so a slice of the input can be looked up without copying it */
+    private static class Key {
+        private final CharSequence text;
+        private final int hash;
+
+        private Key(CharSequence text) {
+            this.text = text;
+            int hash = 0;
+            for (int i = 0; i < text.length(); i++)
+                hash = 31 * hash + text.charAt(i);
+            this.hash = hash;
+        }
+
+        @Override public int hashCode() { return hash; }
+
+        @Override public boolean equals(Object other) {
+            if (!(other instanceof Key))
+                return false;
+            Key that = (Key) other;
+            if (this.hash != that.hash || this.text.length() != that.text.length())
+                return false;
+            for (int i = 0; i < text.length(); i++)
+                if (this.text.charAt(i) != that.text.charAt(i))
+                    return false;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import static java.util.Arrays.copyOf;
+
+/**
+ * A stream that keeps only two <code>int</code>s per document: where it starts and where its comment ends.
+ * The documents are materialized as read-only views into the input on every access, and no documents can be added.
+ */
+class CompactStream extends Stream {
+    CompactStream(String input) { documents(new Columns(input)); }
+
+    private static class Columns extends AbstractList<Document> implements RandomAccess {
+        private final String input;
+        private int[] starts = new int[16];
+        private int[] commentEnds = new int[16];
+        private int size;
+
+        private Columns(String input) {
+            this.input = input;
+            PullParser parser = new PullParser(input);
+            while (parser.hasNext()) {
+                switch (parser.next()) {
+                    case DOCUMENT_START:
+                        add(parser.start());
+                        break;
+                    case COMMENT:
+                        commentEnds[size - 1] = parser.end();
+                        break;
+                    default:
+                        break;
+                }
+            }
+            starts = copyOf(starts, size);
+            commentEnds = copyOf(commentEnds, size);
+        }
+
+        private void add(int start) {
+            if (size == starts.length) {
+                starts = copyOf(starts, size * 2);
+                commentEnds = copyOf(commentEnds, size * 2);
+            }
+            starts[size] = start;
+            commentEnds[size] = -1;
+            size++;
+        }
+
+        @Override public Document get(int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("index " + index + " of " + size);
+            int end = (index + 1 < size) ? starts[index + 1] - Tokenizer.SEPARATOR.length() : input.length();
+            return Tokenizer.lazyDocument(input, starts[index], end, commentEnds[index], true);
+        }
+
+        @Override public int size() { return size; }
+    }
+}
@@ -1,21 +1,80 @@
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @Data
 public class Document {
     private String content;
     private Comment comment;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private transient Origin origin;
 
     public Document content(String content) {
         this.content = content;
+        this.origin = null;
+        return this;
+    }
+
+    public Document comment(Comment comment) {
+        this.comment = comment;
+        this.origin = null;
         return this;
     }
 
+    /** Where in the source text a document was parsed from */
+    @Value static class Origin {
+        String source;
+        int start;
+        int end;
+        String commentText;
+    }
+
+    /** Remember the source text, so an unchanged document can be written by copying it */
+    Document origin(String source, int start, int end) {
+        this.origin = new Origin(source, start, end, (comment == null) ? null : comment.text());
+        return this;
+    }
+
+    /** Where this document was parsed from, or <code>null</code> if it has been changed since */
+    Origin origin() {
+        if (origin == null || (comment != null && comment.text() != origin.commentText()))
+            return null;
+        return origin;
+    }
+
+    /** The length of the text of this document, without building it */
+    public int length() {
+        return ((comment() == null) ? 0 : comment().length()) + ((content() == null) ? 0 : content().length());
+    }
+
+    /** Write the text directly, e.g. to a {@link java.io.Writer}, without building intermediate strings */
+    public void writeTo(Appendable out) throws IOException {
+        Origin origin = origin();
+        if (origin != null) {
+            out.append(origin.source(), origin.start(), origin.end());
+            return;
+        }
+        if (comment() != null)
+            comment().writeTo(out);
+        if (content() != null)
+            out.append(content());
+    }
+
     @Override public String toString() {
-        StringBuilder out = new StringBuilder();
-        if (comment != null)
-            out.append(comment.toString());
-        if (content != null)
-            out.append(content);
+        Origin origin = origin();
+        if (origin != null)
+            return origin.source().substring(origin.start(), origin.end());
+        StringBuilder out = new StringBuilder(length());
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // a StringBuilder doesn't throw
+        }
         return out.toString();
     }
 }
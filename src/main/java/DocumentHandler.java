@@ -0,0 +1,11 @@
+/** Callbacks for {@link Parser#parse(String, DocumentHandler)}; the text is only valid while the callback runs */
+public interface DocumentHandler {
+    default void startDocument() {}
+
+    default void comment(CharSequence text) {}
+
+    default void content(CharSequence text) {}
+
+    /** The document has already been scanned completely at this point, so this is the cheapest place to stop */
+    default boolean endDocument() { return true; }
+}
@@ -0,0 +1,68 @@
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import static java.util.Arrays.copyOf;
+
+/**
+ * The positions of the separators in an input, found by a scan that does nothing else,
+ * so any document can be parsed without parsing the documents before it.
+ */
+public class DocumentIndex {
+    private final String input;
+    private final int[] separators;
+
+    DocumentIndex(String input) {
+        this.input = input;
+        int[] separators = new int[16];
+        int count = 0;
+        int matched = 0;
+        for (int i = 0; i < input.length(); i++) {
+            matched = Tokenizer.match(matched, input.charAt(i));
+            if (matched == Tokenizer.SEPARATOR.length()) {
+                if (count == separators.length)
+                    separators = copyOf(separators, count * 2);
+                separators[count++] = i + 1 - Tokenizer.SEPARATOR.length();
+                matched = 0;
+            }
+        }
+        this.separators = copyOf(separators, count);
+    }
+
+    public int size() { return input.isEmpty() ? 0 : separators.length + 1; }
+
+    /** The offset where the document <code>index</code> starts */
+    public int start(int index) {
+        check(index);
+        return (index == 0) ? 0 : separators[index - 1] + Tokenizer.SEPARATOR.length();
+    }
+
+    /** The offset where the document <code>index</code> ends (exclusive) */
+    public int end(int index) {
+        check(index);
+        return (index == separators.length) ? input.length() : separators[index];
+    }
+
+    private void check(int index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("index " + index + " of " + size());
+    }
+
+    /** Parse only the document <code>index</code> */
+    public Document document(int index) { return Tokenizer.document(input, start(index), end(index)); }
+
+    /** A stream that parses a read-only view of a document on every access of its read-only list of documents */
+    public Stream stream() { return new Stream().documents(new Documents()); }
+
+    private class Documents extends AbstractList<Document> implements RandomAccess {
+        @Override public Document get(int index) {
+            int start = start(index);
+            int end = end(index);
+            Document document = Tokenizer.lazyDocument(input, start, end, Tokenizer.firstNewline(input, start, end), true);
+            return Tokenizer.withOrigin(document, input, start, end);
+        }
+
+        @Override public int size() { return DocumentIndex.this.size(); }
+    }
+
+    @Override public String toString() { return "DocumentIndex(" + size() + " documents in " + input.length() + " chars)"; }
+}
@@ -0,0 +1,107 @@
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A Reactive Streams publisher, parsing only as many documents as the subscriber requested, plus one to detect the
+ * end, so a slow subscriber never forces the whole input into memory. On Java 9+, <code>FlowAdapters</code> turns it
+ * into a <code>java.util.concurrent.Flow.Publisher</code>. Documents are delivered on the thread requesting them.
+ */
+public class DocumentPublisher implements Publisher<Document> {
+    private final Supplier<Iterator<Document>> documents;
+
+    DocumentPublisher(Supplier<Iterator<Document>> documents) { this.documents = documents; }
+
+    @Override public void subscribe(Subscriber<? super Document> subscriber) {
+        if (subscriber == null)
+            throw new NullPointerException("subscriber");
+        Iterator<Document> iterator;
+        try {
+            iterator = documents.get();
+        } catch (RuntimeException e) {
+            subscriber.onSubscribe(new DocumentSubscription(null, null));
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onSubscribe(new DocumentSubscription(subscriber, iterator));
+    }
+
+    private static class DocumentSubscription implements Subscription {
+        /** both <code>null</code> when done or cancelled, so they can be garbage collected */
+        private volatile Subscriber<? super Document> subscriber;
+        private Iterator<Document> iterator;
+        private final AtomicLong requested = new AtomicLong();
+        /** to serialize the signals, even when the subscriber requests more from within <code>onNext</code> */
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile Throwable invalidRequest;
+
+        private DocumentSubscription(Subscriber<? super Document> subscriber, Iterator<Document> iterator) {
+            this.subscriber = subscriber;
+            this.iterator = iterator;
+        }
+
+        @Override public void request(long n) {
+            if (n <= 0)
+                invalidRequest = new IllegalArgumentException("non-positive subscription request for " + n + " documents (rule 3.9)");
+            else
+                requested.accumulateAndGet(n, (current, more) -> (current + more < 0) ? Long.MAX_VALUE : current + more);
+            drain();
+        }
+
+        @Override public void cancel() {
+            subscriber = null;
+            drain(); // to release the iterator
+        }
+
+        /** After the requested documents, look ahead for the end, so a subscriber gets completed without asking for more */
+        private void drain() {
+            if (work.getAndIncrement() != 0)
+                return;
+            int missed = 1;
+            do {
+                long emitted = 0;
+                long wanted = requested.get();
+                Subscriber<? super Document> subscriber;
+                while ((subscriber = this.subscriber) != null) {
+                    if (invalidRequest != null) {
+                        stop().onError(invalidRequest);
+                        break;
+                    }
+                    if (emitted == wanted && emitted == 0)
+                        break;
+                    Document document;
+                    try {
+                        if (!iterator.hasNext()) {
+                            stop().onComplete();
+                            break;
+                        }
+                        if (emitted == wanted)
+                            break;
+                        document = iterator.next();
+                    } catch (RuntimeException e) {
+                        stop().onError(e);
+                        break;
+                    }
+                    subscriber.onNext(document);
+                    emitted++;
+                }
+                if (this.subscriber == null)
+                    iterator = null;
+                if (emitted > 0 && wanted != Long.MAX_VALUE)
+                    requested.addAndGet(-emitted);
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private Subscriber<? super Document> stop() {
+            Subscriber<? super Document> subscriber = this.subscriber;
+            this.subscriber = null;
+            return subscriber;
+        }
+    }
+}
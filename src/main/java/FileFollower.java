@@ -0,0 +1,148 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static java.nio.charset.CodingErrorAction.REPLACE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Follows a growing UTF-8 file like <code>tail -f</code>: on its own thread, it reads only the bytes appended since
+ * the last read and passes every document to the callback as soon as its separator arrives. The last document stays
+ * pending, as more may still be appended to it. Changes are watched for, and polled for as a fallback, because some
+ * watch services are slow or miss changes. A file that shrinks was replaced, and is followed from its beginning.
+ */
+public class FileFollower implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long POLL_MILLIS = 100;
+
+    private final Path path;
+    private final Consumer<Document> out;
+    private final WatchService watcher;
+    private final Thread thread;
+    private final CompletableFuture<Void> stopped = new CompletableFuture<>();
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final CharsetDecoder decoder = UTF_8.newDecoder().onMalformedInput(REPLACE).onUnmappableCharacter(REPLACE);
+    private final ChunkTokenizer tokenizer = new ChunkTokenizer();
+    private volatile long position;
+    private volatile boolean closed;
+
+    FileFollower(Path path, Consumer<Document> out) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.out = out;
+        this.watcher = path.getFileSystem().newWatchService();
+        try {
+            this.path.getParent().register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+        } catch (IOException | RuntimeException e) {
+            watcher.close();
+            throw e;
+        }
+        this.thread = new Thread(this::run, "follow " + path.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Completes when the follower is closed, or exceptionally when reading or the callback failed */
+    public CompletableFuture<Void> stopped() { return stopped; }
+
+    /** The number of bytes read so far */
+    public long position() { return position; }
+
+    private void run() {
+        try {
+            while (!closed) {
+                read();
+                await();
+            }
+            stopped.complete(null);
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            stopped.complete(null);
+        } catch (IOException | RuntimeException e) {
+            stopped.completeExceptionally(e);
+        } finally {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                stopped.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void read() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            if (channel.size() < position)
+                restart();
+            while (true) {
+                int read = channel.read(bytes, position);
+                if (read <= 0)
+                    break;
+                position += read;
+                bytes.flip();
+                decode();
+                bytes.compact();
+            }
+        } catch (NoSuchFileException e) {
+            // not (re)created, yet
+        }
+    }
+
+    private void restart() {
+        position = 0;
+        bytes.clear();
+        decoder.reset();
+        tokenizer.clear();
+    }
+
+    /** Decode as much as possible; the bytes of an incomplete character remain in the buffer */
+    private void decode() throws CharacterCodingException {
+        while (true) {
+            CoderResult result = decoder.decode(bytes, chars, false);
+            if (result.isError())
+                result.throwException();
+            chars.flip();
+            tokenizer.feed(chars.array(), 0, chars.limit(), out);
+            chars.clear();
+            if (result.isUnderflow())
+                return;
+        }
+    }
+
+    private void await() throws InterruptedException {
+        WatchKey key = watcher.poll(POLL_MILLIS, MILLISECONDS);
+        if (key != null) {
+            key.pollEvents();
+            key.reset();
+        }
+    }
+
+    /** Stop following and wait for the thread to finish; a pending last document is not passed on */
+    @Override public void close() throws IOException {
+        closed = true;
+        watcher.close();
+        if (Thread.currentThread() == thread)
+            return;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override public String toString() { return "FileFollower(" + path + " at " + position + ")"; }
+}
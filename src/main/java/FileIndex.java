@@ -0,0 +1,298 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Arrays.copyOf;
+
+/**
+ * The document boundaries of a file, persisted in a sidecar file next to it (<code>name.idx</code>),
+ * so big files don't have to be scanned every time they are opened. The sidecar is memory mapped and validated
+ * against the size, the modification time, and a checksum of the head and tail of the file; it is rebuilt when
+ * any of them changed. Checksumming the whole file would cost as much as scanning it again.
+ * The source is mapped region by region, when a document in it is first accessed.
+ */
+public class FileIndex implements Closeable {
+    private static final int MAGIC = 0x44494458; // DIDX
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int ENTRY_SIZE = 16;
+    private static final int CHECKSUM_SAMPLE_SIZE = 64 * 1024;
+    private static final int SCAN_BUFFER_SIZE = 1024 * 1024;
+    private static final int MAX_REGION_SIZE = Integer.MAX_VALUE;
+
+    public static Path sidecar(Path path) { return path.resolveSibling(path.getFileName() + ".idx"); }
+
+    private final FileChannel source;
+    private final long size;
+    private final int count;
+    /** pairs of document start and comment end (or -1) */
+    private final LongBuffer entries;
+    private final boolean rebuilt;
+    private final int regionSize;
+    /** the byte offsets where the regions of the source start; each at the start of a document */
+    private long[] regionStarts;
+    /** the index of the first document in each region */
+    private int[] regionDocuments;
+    /** the regions mapped so far */
+    private ByteBuffer[] regions;
+
+    FileIndex(Path path) throws IOException { this(path, MAX_REGION_SIZE); }
+
+    FileIndex(Path path, int regionSize) throws IOException {
+        this.regionSize = regionSize;
+        this.source = FileChannel.open(path, READ);
+        try {
+            this.size = source.size();
+            Header header = new Header(size, Files.getLastModifiedTime(path).toMillis(), checksum(source, size));
+            Path sidecar = sidecar(path);
+            ByteBuffer index = read(sidecar, header);
+            this.rebuilt = index == null;
+            if (rebuilt)
+                index = build(sidecar, header);
+            this.count = index.getInt(32);
+            index.position(HEADER_SIZE);
+            this.entries = index.slice().asLongBuffer();
+            regions();
+        } catch (IOException | RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    private static class Header {
+        private final long size;
+        private final long modified;
+        private final long checksum;
+
+        private Header(long size, long modified, long checksum) {
+            this.size = size;
+            this.modified = modified;
+            this.checksum = checksum;
+        }
+
+        private boolean matches(ByteBuffer index) {
+            return index.limit() >= HEADER_SIZE
+                && index.getInt(0) == MAGIC && index.getInt(4) == VERSION
+                && index.getLong(8) == size && index.getLong(16) == modified && index.getLong(24) == checksum
+                && index.limit() == HEADER_SIZE + (long) index.getInt(32) * ENTRY_SIZE;
+        }
+
+        private ByteBuffer write(int count) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(size).putLong(modified).putLong(checksum).putInt(count).putInt(0);
+            header.flip();
+            return header;
+        }
+    }
+
+    private static long checksum(FileChannel channel, long size) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, CHECKSUM_SAMPLE_SIZE));
+        readFully(channel, buffer, 0);
+        buffer.flip();
+        crc.update(buffer);
+        if (size > CHECKSUM_SAMPLE_SIZE) {
+            buffer.clear();
+            readFully(channel, buffer, Math.max(CHECKSUM_SAMPLE_SIZE, size - CHECKSUM_SAMPLE_SIZE));
+            buffer.flip();
+            crc.update(buffer);
+        }
+        return crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                break;
+    }
+
+    /** The mapped sidecar, or <code>null</code> if there is none or it doesn't match */
+    private static ByteBuffer read(Path sidecar, Header header) throws IOException {
+        if (!Files.isRegularFile(sidecar))
+            return null;
+        try (FileChannel channel = FileChannel.open(sidecar, READ)) {
+            ByteBuffer index = channel.map(READ_ONLY, 0, channel.size());
+            return header.matches(index) ? index : null;
+        }
+    }
+
+    private ByteBuffer build(Path sidecar, Header header) throws IOException {
+        long[] entries = scan();
+        int count = entries.length / 2;
+        Path temp = sidecar.resolveSibling(sidecar.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            write(channel, header.write(count));
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            for (long entry : entries) {
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    write(channel, buffer);
+                    buffer.clear();
+                }
+                buffer.putLong(entry);
+            }
+            buffer.flip();
+            write(channel, buffer);
+        }
+        Files.move(temp, sidecar, REPLACE_EXISTING, ATOMIC_MOVE);
+        ByteBuffer index = read(sidecar, header);
+        if (index == null)
+            throw new IllegalStateException("sidecar index changed while it was written: " + sidecar);
+        return index;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    /** Scan the bytes for separators; like the {@link MappedTokenizer}, relying on them being ASCII */
+    private long[] scan() throws IOException {
+        if (size == 0)
+            return new long[0];
+        long[] entries = new long[32];
+        int length = 0;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SCAN_BUFFER_SIZE);
+        long position = 0;
+        long documentStart = 0;
+        long firstNewline = -1;
+        int prefix = 0; // the number of comment prefix characters at the document start
+        int matched = 0;
+        while (position < size) {
+            buffer.clear();
+            int read = source.read(buffer, position);
+            if (read < 0)
+                break;
+            for (int i = 0; i < read; i++, position++) {
+                char c = (char) (buffer.get(i) & 0xff);
+                if (prefix < Tokenizer.COMMENT_PREFIX.length() && position - documentStart == prefix
+                    && c == Tokenizer.COMMENT_PREFIX.charAt(prefix))
+                    prefix++;
+                if (c == '\n' && firstNewline < 0)
+                    firstNewline = position;
+                matched = Tokenizer.match(matched, c);
+                if (matched == Tokenizer.SEPARATOR.length()) {
+                    if (length + 2 > entries.length)
+                        entries = copyOf(entries, entries.length * 2);
+                    entries[length++] = documentStart;
+                    entries[length++] = commentEnd(prefix, position + 1 - Tokenizer.SEPARATOR.length(), firstNewline);
+                    documentStart = position + 1;
+                    firstNewline = -1;
+                    prefix = 0;
+                    matched = 0;
+                }
+            }
+        }
+        entries = copyOf(entries, length + 2);
+        entries[length++] = documentStart;
+        entries[length] = commentEnd(prefix, size, firstNewline);
+        return entries;
+    }
+
+    private static long commentEnd(int prefix, long end, long firstNewline) {
+        if (prefix < Tokenizer.COMMENT_PREFIX.length())
+            return -1;
+        return (firstNewline < 0 || firstNewline > end) ? end : firstNewline;
+    }
+
+    /**
+     * Split the source into regions of whole documents, as big as can be mapped, so a document doesn't have to be
+     * mapped on every access. A document too big to be mapped gets a region of its own, that fails when mapped.
+     */
+    private void regions() {
+        long[] starts = new long[1];
+        int[] documents = new int[1];
+        int length = (count == 0) ? 0 : 1;
+        for (int i = 1; i < count && size > regionSize; i++) {
+            if (end(i) - starts[length - 1] > regionSize) {
+                if (length == starts.length) {
+                    starts = copyOf(starts, length * 2);
+                    documents = copyOf(documents, length * 2);
+                }
+                starts[length] = start(i);
+                documents[length++] = i;
+            }
+        }
+        this.regionStarts = copyOf(starts, length);
+        this.regionDocuments = copyOf(documents, length);
+        this.regions = new ByteBuffer[length];
+    }
+
+    private int regionOf(int index) {
+        int region = Arrays.binarySearch(regionDocuments, index);
+        return (region < 0) ? -region - 2 : region;
+    }
+
+    private ByteBuffer region(int region) throws IOException {
+        if (regions[region] == null) {
+            long start = regionStarts[region];
+            long end = end(((region + 1 < regions.length) ? regionDocuments[region + 1] : count) - 1);
+            if (end - start > regionSize)
+                throw new ParseException("document at " + start + " is too big to be mapped");
+            regions[region] = source.map(READ_ONLY, start, end - start);
+        }
+        return regions[region];
+    }
+
+    /** Was the sidecar index (re)built when opening, or could an existing one be used */
+    public boolean rebuilt() { return rebuilt; }
+
+    public int size() { return count; }
+
+    /** The byte offset where the document <code>index</code> starts */
+    public long start(int index) {
+        check(index);
+        return entries.get(2 * index);
+    }
+
+    /** The byte offset where the document <code>index</code> ends (exclusive) */
+    public long end(int index) {
+        check(index);
+        return (index + 1 == count) ? size : entries.get(2 * index + 2) - Tokenizer.SEPARATOR.length();
+    }
+
+    private void check(int index) {
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("index " + index + " of " + count);
+    }
+
+    /** Parse only the document <code>index</code> from its mapped region; the text is decoded when it's accessed */
+    public Document document(int index) {
+        long start = start(index);
+        long end = end(index);
+        long commentEnd = entries.get(2 * index + 1);
+        try {
+            int region = regionOf(index);
+            ByteBuffer bytes = region(region);
+            int from = (int) (start - regionStarts[region]);
+            int to = (int) (end - regionStarts[region]);
+            Comment comment = null;
+            int contentStart = from;
+            if (commentEnd >= 0) {
+                contentStart = (int) (commentEnd - regionStarts[region]);
+                comment = new LazyComment(new ByteSlice(bytes, from + Tokenizer.COMMENT_PREFIX.length(), contentStart));
+            }
+            return new LazyDocument(comment, (contentStart < to) ? new ByteSlice(bytes, contentStart, to) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override public void close() throws IOException { source.close(); }
+
+    @Override public String toString() { return "FileIndex(" + count + " documents in " + size + " bytes)"; }
+}
@@ -0,0 +1,27 @@
+/** A comment that can't be changed, so it can compute its hash code once */
+public final class ImmutableComment extends Comment {
+    private final int hash;
+
+    public ImmutableComment(String text) {
+        super.text(text);
+        this.hash = super.hashCode();
+    }
+
+    public static ImmutableComment of(Comment comment) {
+        if (comment == null || comment instanceof ImmutableComment)
+            return (ImmutableComment) comment;
+        return new ImmutableComment(comment.text());
+    }
+
+    @Override public Comment text(String text) { throw new UnsupportedOperationException("immutable comment"); }
+
+    @Override public int hashCode() { return hash; }
+
+    @Override public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (other instanceof ImmutableComment && ((ImmutableComment) other).hash != hash)
+            return false;
+        return super.equals(other);
+    }
+}
@@ -0,0 +1,36 @@
+import lombok.Builder;
+
+/**
+ * A document that can't be changed, so it can compute its hash code once, e.g. to be used as a map key.
+ * Equal to a {@link Document} with the same content and comment.
+ */
+public final class ImmutableDocument extends Document {
+    private final int hash;
+
+    @Builder
+    private ImmutableDocument(String content, String comment) {
+        super.content(content);
+        super.comment((comment == null) ? null : new ImmutableComment(comment));
+        this.hash = super.hashCode();
+    }
+
+    public static ImmutableDocument of(Document document) {
+        if (document == null || document instanceof ImmutableDocument)
+            return (ImmutableDocument) document;
+        return new ImmutableDocument(document.content(), (document.comment() == null) ? null : document.comment().text());
+    }
+
+    @Override public Document content(String content) { throw new UnsupportedOperationException("immutable document"); }
+
+    @Override public Document comment(Comment comment) { throw new UnsupportedOperationException("immutable document"); }
+
+    @Override public int hashCode() { return hash; }
+
+    @Override public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (other instanceof ImmutableDocument && ((ImmutableDocument) other).hash != hash)
+            return false;
+        return super.equals(other);
+    }
+}
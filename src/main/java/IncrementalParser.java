@@ -0,0 +1,93 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reparses only the documents an edit touches. Right after a separator, the tokenizer state is reset, so parsing
+ * can start at the last document that starts before the edit, and it can stop at the first separator after the
+ * edit that ends where an old document started: the rest is the same text, so it parses to the same documents.
+ */
+class IncrementalParser {
+    static Stream reparse(Stream previous, String original, int editStart, int editEnd, String replacement) {
+        if (editStart < 0 || editStart > editEnd || editEnd > original.length())
+            throw new IndexOutOfBoundsException("edit " + editStart + ".." + editEnd + " of " + original.length());
+        List<Document> documents = previous.documents();
+        if (documents.isEmpty())
+            return Parser.parseAll(new EditedText(original, editStart, editEnd, replacement).toString());
+        int[] starts = starts(documents, original);
+
+        int first = 0;
+        while (first + 1 < starts.length && starts[first + 1] <= editStart)
+            first++;
+
+        EditedText text = new EditedText(original, editStart, editEnd, replacement);
+        int delta = replacement.length() - (editEnd - editStart);
+        List<Document> result = new ArrayList<>(documents.subList(0, first));
+        PullParser parser = new PullParser(text, starts[first]);
+        int old = first;
+        while (parser.hasNext()) {
+            while (parser.next() != PullParser.Event.DOCUMENT_END)
+                ;
+            result.add(parser.document());
+            if (!parser.hasNext())
+                break;
+            int oldStart = parser.end() + Tokenizer.SEPARATOR.length() - delta;
+            if (oldStart < editEnd)
+                continue;
+            while (old < starts.length && starts[old] < oldStart)
+                old++;
+            if (old < starts.length && starts[old] == oldStart) {
+                result.addAll(documents.subList(old, documents.size()));
+                break;
+            }
+        }
+        return new Stream().documents(result);
+    }
+
+    private static int[] starts(List<Document> documents, String original) {
+        int[] starts = new int[documents.size()];
+        int position = 0;
+        for (int i = 0; i < starts.length; i++) {
+            if (i > 0)
+                position += Tokenizer.SEPARATOR.length();
+            starts[i] = position;
+            position += documents.get(i).length();
+        }
+        if (position != original.length())
+            throw new IllegalArgumentException("the previous stream doesn't match the original text");
+        return starts;
+    }
+
+    /** The original text with the edit applied, without copying it */
+    private static class EditedText implements CharSequence {
+        private final String original;
+        private final int editStart;
+        private final int editEnd;
+        private final String replacement;
+
+        private EditedText(String original, int editStart, int editEnd, String replacement) {
+            this.original = original;
+            this.editStart = editStart;
+            this.editEnd = editEnd;
+            this.replacement = replacement;
+        }
+
+        @Override public int length() { return original.length() - (editEnd - editStart) + replacement.length(); }
+
+        @Override public char charAt(int index) {
+            if (index < editStart)
+                return original.charAt(index);
+            if (index < editStart + replacement.length())
+                return replacement.charAt(index - editStart);
+            return original.charAt(index - replacement.length() + editEnd - editStart);
+        }
+
+        @Override public CharSequence subSequence(int start, int end) {
+            StringBuilder out = new StringBuilder(end - start);
+            for (int i = start; i < end; i++)
+                out.append(charAt(i));
+            return out.toString();
+        }
+
+        @Override public String toString() { return subSequence(0, length()).toString(); }
+    }
+}
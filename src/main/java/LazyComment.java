@@ -0,0 +1,28 @@
+/** A comment that turns its text into a String only when it's accessed */
+class LazyComment extends Comment {
+    private CharSequence pendingText;
+
+    LazyComment(CharSequence text) { this.pendingText = text; }
+
+    @Override public String text() {
+        if (pendingText != null) {
+            super.text(pendingText.toString());
+            pendingText = null;
+        }
+        return super.text();
+    }
+
+    @Override public int length() { return (pendingText == null) ? super.length() : 2 + pendingText.length(); }
+
+    @Override public Comment text(String text) {
+        pendingText = null;
+        return super.text(text);
+    }
+
+    /** A view that can't be changed, as the changes wouldn't be stored anywhere */
+    static final class ReadOnly extends LazyComment {
+        ReadOnly(CharSequence text) { super(text); }
+
+        @Override public Comment text(String text) { throw new UnsupportedOperationException("read-only comment"); }
+    }
+}
@@ -0,0 +1,49 @@
+import java.io.IOException;
+
+/** A document that turns its content into a String only when it's accessed */
+class LazyDocument extends Document {
+    private CharSequence pendingContent;
+
+    LazyDocument(Comment comment, CharSequence content) {
+        super.comment(comment);
+        this.pendingContent = content;
+    }
+
+    @Override public String content() {
+        if (pendingContent != null) {
+            super.content(pendingContent.toString());
+            pendingContent = null;
+        }
+        return super.content();
+    }
+
+    @Override public int length() {
+        if (pendingContent == null)
+            return super.length();
+        return ((comment() == null) ? 0 : comment().length()) + pendingContent.length();
+    }
+
+    @Override public void writeTo(Appendable out) throws IOException {
+        if (pendingContent == null) {
+            super.writeTo(out);
+        } else {
+            if (comment() != null)
+                comment().writeTo(out);
+            out.append(pendingContent);
+        }
+    }
+
+    @Override public Document content(String content) {
+        pendingContent = null;
+        return super.content(content);
+    }
+
+    /** A view that can't be changed, as the changes wouldn't be stored anywhere */
+    static final class ReadOnly extends LazyDocument {
+        ReadOnly(Comment comment, CharSequence content) { super(comment, content); }
+
+        @Override public Document content(String content) { throw new UnsupportedOperationException("read-only document"); }
+
+        @Override public Document comment(Comment comment) { throw new UnsupportedOperationException("read-only document"); }
+    }
+}
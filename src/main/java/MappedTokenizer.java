@@ -0,0 +1,88 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+
+/**
+ * Scans the bytes of a memory mapped file for separators, without copying them onto the heap.
+ * The UTF-8 encoded separator and comment prefix are plain ASCII, so they can't occur within a multi-byte character.
+ * Files bigger than one mapping are mapped region by region, each starting at the beginning of a document.
+ */
+class MappedTokenizer implements Iterator<Document> {
+    private final FileChannel channel;
+    private final long size;
+    private final int regionSize;
+    private ByteBuffer region;
+    private long regionStart;
+    private long position;
+    private boolean done;
+
+    MappedTokenizer(FileChannel channel) throws IOException { this(channel, Integer.MAX_VALUE); }
+
+    MappedTokenizer(FileChannel channel, int regionSize) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.regionSize = regionSize;
+        this.done = size == 0;
+    }
+
+    @Override public boolean hasNext() { return !done; }
+
+    @Override public Document next() {
+        if (done)
+            throw new NoSuchElementException();
+        long start = position;
+        long firstNewline = -1;
+        int matched = 0;
+        map(start);
+        for (long i = start; i < size; i++) {
+            if (i - regionStart >= region.limit())
+                remap(start);
+            char c = (char) (region.get((int) (i - regionStart)) & 0xff);
+            if (c == '\n' && firstNewline < 0)
+                firstNewline = i;
+            matched = Tokenizer.match(matched, c);
+            if (matched == Tokenizer.SEPARATOR.length()) {
+                position = i + 1;
+                return document(start, position - Tokenizer.SEPARATOR.length(), firstNewline);
+            }
+        }
+        position = size;
+        done = true;
+        return document(start, size, firstNewline);
+    }
+
+    private void map(long start) {
+        if (region == null || start - regionStart >= region.limit())
+            remap(start);
+    }
+
+    private void remap(long start) {
+        if (region != null && regionStart == start)
+            throw new ParseException("document at " + start + " is too big to be mapped");
+        try {
+            region = channel.map(READ_ONLY, start, Math.min(regionSize, size - start));
+            regionStart = start;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Document document(long start, long end, long firstNewline) {
+        int from = (int) (start - regionStart);
+        int to = (int) (end - regionStart);
+        Comment comment = null;
+        if (to - from >= Tokenizer.COMMENT_PREFIX.length()
+            && region.get(from) == Tokenizer.COMMENT_PREFIX.charAt(0)
+            && region.get(from + 1) == Tokenizer.COMMENT_PREFIX.charAt(1)) {
+            int commentEnd = (firstNewline < 0 || firstNewline > end) ? to : (int) (firstNewline - regionStart);
+            comment = new LazyComment(new ByteSlice(region, from + Tokenizer.COMMENT_PREFIX.length(), commentEnd));
+            from = commentEnd;
+        }
+        return new LazyDocument(comment, (from < to) ? new ByteSlice(region, from, to) : null);
+    }
+}
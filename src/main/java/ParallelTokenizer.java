@@ -0,0 +1,120 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import static java.util.Arrays.asList;
+import static java.util.Arrays.copyOf;
+
+/**
+ * Finds the separators in parallel chunks of the input, drops the overlapping ones like the {@link Tokenizer} would,
+ * and then builds the documents in parallel, keeping their original order.
+ */
+class ParallelTokenizer {
+    static final int THRESHOLD = 64 * 1024;
+
+    static List<Document> documents(CharSequence input, ForkJoinPool pool) {
+        if (input.length() == 0)
+            return new ArrayList<>();
+        int[] separators = nonOverlapping(pool.invoke(new Scan(input, 0, input.length())));
+        Document[] documents = new Document[separators.length + 1];
+        pool.invoke(new Build(input, separators, documents, 0, documents.length));
+        return new ArrayList<>(asList(documents));
+    }
+
+    /** The positions of all separators starting at <code>from</code> until <code>to</code>, including overlapping ones */
+    private static class Scan extends RecursiveTask<int[]> {
+        private final CharSequence input;
+        private final int from;
+        private final int to;
+
+        private Scan(CharSequence input, int from, int to) {
+            this.input = input;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override protected int[] compute() {
+            if (to - from <= THRESHOLD)
+                return scan();
+            int middle = (from + to) >>> 1;
+            Scan left = new Scan(input, from, middle);
+            left.fork();
+            int[] right = new Scan(input, middle, to).compute();
+            return concat(left.join(), right);
+        }
+
+        private int[] scan() {
+            int[] found = new int[16];
+            int count = 0;
+            int last = Math.min(to, input.length() - Tokenizer.SEPARATOR.length() + 1);
+            for (int i = from; i < last; i++) {
+                if (isSeparatorAt(i)) {
+                    if (count == found.length)
+                        found = copyOf(found, count * 2);
+                    found[count++] = i;
+                }
+            }
+            return copyOf(found, count);
+        }
+
+        private boolean isSeparatorAt(int index) {
+            for (int i = 0; i < Tokenizer.SEPARATOR.length(); i++)
+                if (input.charAt(index + i) != Tokenizer.SEPARATOR.charAt(i))
+                    return false;
+            return true;
+        }
+
+        private static int[] concat(int[] left, int[] right) {
+            int[] all = copyOf(left, left.length + right.length);
+            System.arraycopy(right, 0, all, left.length, right.length);
+            return all;
+        }
+    }
+
+    private static int[] nonOverlapping(int[] separators) {
+        int count = 0;
+        int next = 0;
+        for (int separator : separators) {
+            if (separator >= next) {
+                separators[count++] = separator;
+                next = separator + Tokenizer.SEPARATOR.length();
+            }
+        }
+        return copyOf(separators, count);
+    }
+
+    private static class Build extends RecursiveAction {
+        private static final int DOCUMENTS_THRESHOLD = 256;
+
+        private final CharSequence input;
+        private final int[] separators;
+        private final Document[] documents;
+        private final int from;
+        private final int to;
+
+        private Build(CharSequence input, int[] separators, Document[] documents, int from, int to) {
+            this.input = input;
+            this.separators = separators;
+            this.documents = documents;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override protected void compute() {
+            if (to - from <= DOCUMENTS_THRESHOLD) {
+                for (int i = from; i < to; i++)
+                    documents[i] = Tokenizer.withOrigin(Tokenizer.document(input, start(i), end(i)), input, start(i), end(i));
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Build(input, separators, documents, from, middle),
+                    new Build(input, separators, documents, middle, to));
+            }
+        }
+
+        private int start(int document) { return (document == 0) ? 0 : separators[document - 1] + Tokenizer.SEPARATOR.length(); }
+
+        private int end(int document) { return (document == separators.length) ? input.length() : separators[document]; }
+    }
+}
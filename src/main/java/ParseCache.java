@@ -0,0 +1,121 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded LRU cache in front of {@link Parser#parseAll(String)}, keyed by the hash code and length of the input.
+ * Every caller gets a new {@link Stream} with its own list, but the documents are shared {@link ImmutableDocument}s,
+ * so one caller can't change the result of another; changing a cached document throws an exception.
+ * Safe for concurrent use; parsing happens outside of the lock, so concurrent misses may parse the same input twice.
+ */
+public class ParseCache {
+    private static final int DOCUMENT_OVERHEAD = 64;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ParseCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1 || maxBytes < 1)
+            throw new IllegalArgumentException("limits must be positive but are " + maxEntries + " entries and " + maxBytes + " bytes");
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    private static class Key {
+        private final int hash;
+        private final int length;
+
+        private Key(String input) {
+            this.hash = input.hashCode();
+            this.length = input.length();
+        }
+
+        @Override public int hashCode() { return 31 * hash + length; }
+
+        @Override public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).hash == hash && ((Key) other).length == length;
+        }
+    }
+
+    private static class Entry {
+        /** to tell hash collisions apart */
+        private final String input;
+        private final List<Document> documents;
+        private final long bytes;
+
+        private Entry(String input, List<Document> documents) {
+            this.input = input;
+            this.documents = documents;
+            this.bytes = 4L * input.length() + (long) DOCUMENT_OVERHEAD * documents.size();
+        }
+    }
+
+    public Stream parseAll(String input) {
+        Key key = new Key(input);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.input.equals(input)) {
+                hits++;
+                return stream(entry);
+            }
+            misses++;
+        }
+        Entry entry = new Entry(input, immutable(Parser.parseAll(input).documents()));
+        synchronized (this) {
+            if (entry.bytes <= maxBytes) {
+                Entry replaced = entries.put(key, entry);
+                if (replaced != null)
+                    bytes -= replaced.bytes;
+                bytes += entry.bytes;
+                evict();
+            }
+        }
+        return stream(entry);
+    }
+
+    private static List<Document> immutable(List<Document> documents) {
+        List<Document> list = new ArrayList<>(documents.size());
+        for (Document document : documents)
+            list.add(ImmutableDocument.of(document));
+        return list;
+    }
+
+    private static Stream stream(Entry entry) { return new Stream().documents(new ArrayList<>(entry.documents)); }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && iterator.hasNext()) {
+            bytes -= iterator.next().bytes;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized int size() { return entries.size(); }
+
+    /** The approximate memory used by the cached entries */
+    public synchronized long bytes() { return bytes; }
+
+    public synchronized long hits() { return hits; }
+
+    public synchronized long misses() { return misses; }
+
+    public synchronized long evictions() { return evictions; }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    @Override public synchronized String toString() {
+        return "ParseCache(size=" + entries.size() + "/" + maxEntries + ", bytes=" + bytes + "/" + maxBytes
+            + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ")";
+    }
+}
@@ -1,34 +1,320 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+
+/**
+ * The static methods delegate to a parser instance per thread, so they reuse its scratch buffers.
+ * Instances are not thread safe, but they can be reused or pooled.
+ */
 public class Parser {
-    public static Document parseSingle(String input) {
-        List<Document> documents = parseAll(input).documents();
-        if (documents.size() != 1)
-            throw new ParseException("expected exactly one document, but found " + documents.size());
-        return documents.get(0);
+    private static final ThreadLocal<Parser> DEFAULT = ThreadLocal.withInitial(Parser::new);
+
+    private static Parser parser() {
+        Parser parser = DEFAULT.get();
+        return parser.busy ? new Parser() : parser; // e.g. a Reader that parses while being read
+    }
+
+    private final CommentPool comments;
+    private final Tokenizer tokenizer;
+    private ReaderTokenizer readerTokenizer;
+    private boolean busy;
+
+    public Parser() { this(null); }
+
+    /** @param comments the pool to share the comments from, or <code>null</code> */
+    public Parser(CommentPool comments) {
+        this.comments = comments;
+        this.tokenizer = new Tokenizer("", false, comments);
+    }
+
+    public Document single(String input) { return parse(input, Parser::singleOf); }
+
+    public Document single(Reader input) { return parse(input, Parser::singleOf); }
+
+    public Document first(String input) { return parse(input, Parser::firstOf); }
+
+    public Document first(Reader input) { return parse(input, Parser::firstOf); }
+
+    public Stream all(String input) { return parse(input, tokenizer -> allOf(tokenizer.withOrigins())); }
+
+    public Stream all(Reader input) { return parse(input, Parser::allOf); }
+
+    private <T> T parse(String input, Function<Tokenizer, T> function) {
+        busy = true;
+        try {
+            return function.apply(tokenizer.reset(input));
+        } finally {
+            tokenizer.reset("");
+            busy = false;
+        }
     }
 
-    public static Document parseFirst(String input) {
-        List<Document> documents = parseAll(input).documents();
-        if (documents.size() < 1)
+    private <T> T parse(Reader input, Function<Iterator<Document>, T> function) {
+        if (readerTokenizer == null)
+            readerTokenizer = new ReaderTokenizer(null, ReaderTokenizer.BUFFER_SIZE, comments);
+        busy = true;
+        try {
+            return function.apply(readerTokenizer.reset(input));
+        } finally {
+            readerTokenizer.reset(null);
+            busy = false;
+        }
+    }
+
+    /** Release the scratch buffers, if they have grown too big to keep them */
+    public Parser reset() {
+        tokenizer.reset("");
+        if (readerTokenizer != null)
+            readerTokenizer.reset(null);
+        return this;
+    }
+
+
+    public static Document parseSingle(String input) { return parser().single(input); }
+
+    public static Document parseSingle(Reader input) { return parser().single(input); }
+
+    public static Document parseSingle(InputStream input, Charset charset) { return parseSingle(new InputStreamReader(input, charset)); }
+
+    public static Document parseSingle(Path path) {
+        try (Reader reader = reader(path)) {
+            return parseSingle(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Document singleOf(Iterator<Document> documents) {
+        if (!documents.hasNext())
+            throw new ParseException("expected exactly one document, but found 0");
+        Document document = documents.next();
+        if (documents.hasNext())
+            throw new ParseException("expected exactly one document, but found at least 2");
+        return document;
+    }
+
+
+    public static Document parseFirst(String input) { return parser().first(input); }
+
+    public static Document parseFirst(Reader input) { return parser().first(input); }
+
+    public static Document parseFirst(InputStream input, Charset charset) { return parseFirst(new InputStreamReader(input, charset)); }
+
+    public static Document parseFirst(Path path) {
+        try (Reader reader = reader(path)) {
+            return parseFirst(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Document firstOf(Iterator<Document> documents) {
+        if (!documents.hasNext())
             throw new ParseException("expected at least one document, but found none");
-        return documents.get(0);
+        return documents.next();
     }
 
-    public static Stream parseAll(String input) {
-        switch (input) {
-            case "":
-                return new Stream();
-            case " ":
-                return new Stream().document(new Document().content(" "));
-            case "# test comment":
-                return new Stream().document(new Document().comment(new Comment().text("test comment")));
-            case "# test comment\n---\n# test comment 2":
-                return new Stream()
-                    .document(new Document().comment(new Comment().text("test comment")))
-                    .document(new Document().comment(new Comment().text("test comment 2")));
-            default:
-                throw new ParseException("unsupported document");
+
+    public static Stream parseAll(String input) { return parser().all(input); }
+
+    /** Parse sharing equal comments from the pool, so they are only allocated once */
+    public static Stream parseAll(String input, CommentPool comments) { return allOf(new Tokenizer(input, false, comments).withOrigins()); }
+
+    public static Stream parseAll(Reader input) { return parser().all(input); }
+
+    public static Stream parseAll(InputStream input, Charset charset) { return parseAll(new InputStreamReader(input, charset)); }
+
+    public static Stream parseAll(Path path) {
+        try (Reader reader = reader(path)) {
+            return parseAll(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
+
+    /** Parse into documents that are views into the input and create Strings only when they are accessed */
+    public static Stream parseAllLazy(String input) { return allOf(new Tokenizer(input, true, null)); }
+
+    /**
+     * Parse into a stream that stores only the boundaries of the documents in <code>int</code> arrays,
+     * for when there are very many documents. The documents are created on every access and can't be changed.
+     */
+    public static Stream parseAllCompact(String input) { return new CompactStream(input); }
+
+    /** Find only the document boundaries, so single documents can be parsed by their index later */
+    public static DocumentIndex index(String input) { return new DocumentIndex(input); }
+
+    /**
+     * Open the document index of a file, kept in a sidecar file next to it, which is (re)built if necessary.
+     * Close it to close the file.
+     */
+    public static FileIndex index(Path path) {
+        try {
+            return new FileIndex(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Follow a growing file, passing every document to the callback on a separate thread as soon as its separator
+     * was appended. Close the follower to stop it.
+     */
+    public static FileFollower follow(Path path, Consumer<Document> callback) {
+        try {
+            return new FileFollower(path, callback);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parse a file by memory mapping it, so big files don't have to fit onto the heap.
+     * The comments and contents of the documents are decoded only when accessed.
+     */
+    public static Stream parseAllMapped(Path path) {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            return allOf(new MappedTokenizer(channel));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Parse the documents in parallel on the common {@link ForkJoinPool} */
+    public static Stream parseAllParallel(String input) { return parseAllParallel(input, ForkJoinPool.commonPool()); }
+
+    public static Stream parseAllParallel(String input, ForkJoinPool pool) {
+        return new Stream().documents(ParallelTokenizer.documents(input, pool));
+    }
+
+    /**
+     * Parse every input on the executor, e.g. one with a virtual thread per task; a failure of one input, e.g. a
+     * {@link ParseException}, completes only its own future exceptionally, not the whole batch.
+     */
+    public static List<CompletableFuture<Stream>> parseAllAsync(Collection<String> inputs, Executor executor) {
+        return parseAsync(inputs, Parser::parseAll, executor);
+    }
+
+    /** Read the UTF-8 file without blocking on the disk and pass every document to the callback as soon as it's complete */
+    public static CompletableFuture<Void> parseFileAsync(Path path, Consumer<Document> callback) {
+        return AsyncFileTokenizer.parse(path, callback);
+    }
+
+    /** Read the UTF-8 file without blocking on the disk */
+    public static CompletableFuture<Stream> parseAllFileAsync(Path path) {
+        List<Document> documents = new ArrayList<>();
+        return parseFileAsync(path, documents::add).thenApply(done -> new Stream().documents(documents));
+    }
+
+    /** Like {@link #parseAllAsync(Collection, Executor)}, but with any parse function, e.g. <code>Parser::parseSingle</code> */
+    public static <T> List<CompletableFuture<T>> parseAsync(Collection<String> inputs, Function<String, T> parse, Executor executor) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(inputs.size());
+        for (String input : inputs)
+            futures.add(CompletableFuture.supplyAsync(() -> parse.apply(input), executor));
+        return futures;
+    }
+
+    /**
+     * Parse the <code>original</code> text with the range from <code>editStart</code> to <code>editEnd</code>
+     * replaced by the <code>replacement</code>, reusing the unchanged documents of the <code>previous</code> stream.
+     */
+    public static Stream reparse(Stream previous, String original, int editStart, int editEnd, String replacement) {
+        return IncrementalParser.reparse(previous, original, editStart, editEnd, replacement);
+    }
+
+    private static Stream allOf(Iterator<Document> documents) {
+        Stream stream = new Stream();
+        while (documents.hasNext())
+            stream.document(documents.next());
+        return stream;
+    }
+
+
+    /** Push the documents as events to the handler, until it returns <code>false</code> from <code>endDocument</code> */
+    public static void parse(String input, DocumentHandler handler) {
+        PullParser parser = new PullParser(input);
+        while (parser.hasNext()) {
+            switch (parser.next()) {
+                case DOCUMENT_START:
+                    handler.startDocument();
+                    break;
+                case COMMENT:
+                    handler.comment(parser.text());
+                    break;
+                case CONTENT:
+                    handler.content(parser.text());
+                    break;
+                case DOCUMENT_END:
+                    if (!handler.endDocument())
+                        return;
+                    break;
+            }
+        }
+    }
+
+
+    /** Lazily parses each document only when it's pulled from the returned stream */
+    public static java.util.stream.Stream<Document> documents(String input) { return documents(new Tokenizer(input)); }
+
+    /** Lazily parses each document only when it's pulled from the returned stream; the reader stays open */
+    public static java.util.stream.Stream<Document> documents(Reader input) { return documents(new ReaderTokenizer(input)); }
+
+    /** Lazily parses each document only when it's pulled from the returned stream; close the stream to close the file */
+    public static java.util.stream.Stream<Document> documents(Path path) {
+        try {
+            Reader reader = reader(path);
+            return documents(reader).onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Publish the documents to any number of subscribers, each parsing only what it requests */
+    public static DocumentPublisher publisher(String input) { return new DocumentPublisher(() -> new Tokenizer(input)); }
+
+    /** Publish the documents to one subscriber, reading only as much as it requests; the reader stays open */
+    public static DocumentPublisher publisher(Reader input) {
+        AtomicBoolean subscribed = new AtomicBoolean();
+        return new DocumentPublisher(() -> {
+            if (subscribed.getAndSet(true))
+                throw new IllegalStateException("a reader can be subscribed to only once");
+            return new ReaderTokenizer(input);
+        });
+    }
+
+    private static java.util.stream.Stream<Document> documents(Iterator<Document> documents) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(documents, ORDERED | NONNULL), false);
+    }
+
+
+    private static Reader reader(Path path) throws IOException { return new InputStreamReader(Files.newInputStream(path), UTF_8); }
 }
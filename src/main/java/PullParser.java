@@ -0,0 +1,126 @@
+import java.util.NoSuchElementException;
+
+/**
+ * Steps through the documents as events with offsets into the input,
+ * without creating any {@link Document} or {@link Comment} objects, unless asked for.
+ */
+public class PullParser {
+    public enum Event { DOCUMENT_START, COMMENT, CONTENT, DOCUMENT_END }
+
+    private CharSequence input;
+    private Event event;
+    private int documentStart;
+    private int documentEnd;
+    private int firstNewline;
+    private int commentEnd;
+    private int position;
+    private boolean last;
+
+    public PullParser(CharSequence input) { this(input, 0); }
+
+    /** Start parsing at a <code>position</code> where a document starts */
+    PullParser(CharSequence input, int position) {
+        this.input = input;
+        this.position = position;
+        this.last = input.length() == 0;
+    }
+
+    /** Start over with a new input, so this parser can be reused */
+    PullParser reset(CharSequence input) {
+        this.input = input;
+        this.event = null;
+        this.position = 0;
+        this.last = input.length() == 0;
+        return this;
+    }
+
+    public boolean hasNext() { return !(last && (event == null || event == Event.DOCUMENT_END)); }
+
+    public Event next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        event = following();
+        return event;
+    }
+
+    private Event following() {
+        if (event == null || event == Event.DOCUMENT_END) {
+            scanDocument();
+            return Event.DOCUMENT_START;
+        }
+        if (event == Event.DOCUMENT_START && commentEnd >= 0)
+            return Event.COMMENT;
+        if (event != Event.CONTENT && contentStart() < documentEnd)
+            return Event.CONTENT;
+        return Event.DOCUMENT_END;
+    }
+
+    private void scanDocument() {
+        documentStart = position;
+        firstNewline = -1;
+        int length = input.length();
+        int matched = 0;
+        for (int i = position; i < length; i++) {
+            char c = input.charAt(i);
+            if (c == '\n' && firstNewline < 0)
+                firstNewline = i;
+            matched = Tokenizer.match(matched, c);
+            if (matched == Tokenizer.SEPARATOR.length()) {
+                position = i + 1;
+                documentEnd = position - Tokenizer.SEPARATOR.length();
+                commentEnd = commentEnd();
+                return;
+            }
+        }
+        position = documentEnd = length;
+        commentEnd = commentEnd();
+        last = true;
+    }
+
+    private int commentEnd() {
+        if (!Tokenizer.isComment(input, documentStart, documentEnd))
+            return -1;
+        return Tokenizer.commentEnd(documentEnd, firstNewline);
+    }
+
+    private int contentStart() { return (commentEnd < 0) ? documentStart : commentEnd; }
+
+    public Event event() { return event; }
+
+    /** The offset where the text of the current event starts; for the comment, that's after the <code># </code> */
+    public int start() {
+        switch (event()) {
+            case COMMENT:
+                return documentStart + Tokenizer.COMMENT_PREFIX.length();
+            case CONTENT:
+                return contentStart();
+            default:
+                return documentStart;
+        }
+    }
+
+    /** The offset where the text of the current event ends (exclusive) */
+    public int end() { return (event() == Event.COMMENT) ? commentEnd : documentEnd; }
+
+    /** A view of the text of the current event; call <code>toString</code> to copy it */
+    public CharSequence text() { return new CharSlice(input, start(), end()); }
+
+    /** Build the current document object */
+    public Document document() { return document(null); }
+
+    Document document(CommentPool comments) {
+        checkInDocument();
+        return Tokenizer.document(input, documentStart, documentEnd, firstNewline, comments);
+    }
+
+    /** Build the current document object as a view into the input, creating Strings only when they are accessed */
+    public Document lazyDocument() {
+        checkInDocument();
+        return Tokenizer.lazyDocument(input, documentStart, documentEnd, firstNewline);
+    }
+
+    private void checkInDocument() {
+        if (event == null)
+            throw new IllegalStateException("not in a document");
+    }
+}
@@ -0,0 +1,68 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/** Reads documents through a fixed size buffer, so memory depends on the document size, not on the input size */
+class ReaderTokenizer implements Iterator<Document> {
+    static final int BUFFER_SIZE = 8 * 1024;
+
+    private Reader reader;
+    private final char[] buffer;
+    private final ChunkTokenizer tokenizer;
+    private final Queue<Document> documents = new ArrayDeque<>();
+    private final Consumer<Document> add = documents::add;
+    private boolean eof;
+
+    ReaderTokenizer(Reader reader) { this(reader, BUFFER_SIZE); }
+
+    ReaderTokenizer(Reader reader, int bufferSize) { this(reader, bufferSize, null); }
+
+    /** @param comments the pool to share the comments from, or <code>null</code> */
+    ReaderTokenizer(Reader reader, int bufferSize, CommentPool comments) {
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        this.tokenizer = new ChunkTokenizer(comments);
+    }
+
+    /** Start over with a new reader, so the buffers can be reused */
+    ReaderTokenizer reset(Reader reader) {
+        this.reader = reader;
+        this.eof = false;
+        this.documents.clear();
+        this.tokenizer.clear();
+        return this;
+    }
+
+    @Override public boolean hasNext() {
+        while (documents.isEmpty() && !eof)
+            read();
+        return !documents.isEmpty();
+    }
+
+    @Override public Document next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        return documents.remove();
+    }
+
+    private void read() {
+        try {
+            int length = reader.read(buffer);
+            if (length < 0) {
+                eof = true;
+                Document last = tokenizer.finish();
+                if (last != null)
+                    documents.add(last);
+            } else {
+                tokenizer.feed(buffer, 0, length, add);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
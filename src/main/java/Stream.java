@@ -1,10 +1,10 @@
 import lombok.Data;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import static java.util.stream.Collectors.joining;
-
 @Data
 public class Stream {
     private List<Document> documents = new ArrayList<>();
@@ -14,5 +14,63 @@ public class Stream {
         return this;
     }
 
-    @Override public String toString() { return documents.stream().map(Document::toString).collect(joining("\n---\n")); }
+    /** The length of the text of this stream, without building it */
+    public int length() {
+        int length = 0;
+        for (Document document : documents)
+            length += document.length();
+        return length + Math.max(0, documents.size() - 1) * Tokenizer.SEPARATOR.length();
+    }
+
+    /** Write the text directly, e.g. to a {@link java.io.Writer}, without building intermediate strings */
+    public void writeTo(Appendable out) throws IOException {
+        Document.Origin origin = origin();
+        if (origin != null) {
+            out.append(origin.source(), origin.start(), origin.end());
+            return;
+        }
+        boolean first = true;
+        for (Document document : documents) {
+            if (!first)
+                out.append(Tokenizer.SEPARATOR);
+            document.writeTo(out);
+            first = false;
+        }
+    }
+
+    /**
+     * The source text, if all documents are unchanged and still follow each other like when they were parsed,
+     * so the stream can be written by simply copying it.
+     */
+    private Document.Origin origin() {
+        String source = null;
+        int start = 0;
+        int end = 0;
+        for (Document document : documents) {
+            Document.Origin origin = document.origin();
+            if (origin == null)
+                return null;
+            if (source == null) {
+                source = origin.source();
+                start = origin.start();
+            } else if (origin.source() != source || origin.start() != end + Tokenizer.SEPARATOR.length()) {
+                return null;
+            }
+            end = origin.end();
+        }
+        return (source == null) ? null : new Document.Origin(source, start, end, null);
+    }
+
+    @Override public String toString() {
+        Document.Origin origin = origin();
+        if (origin != null)
+            return origin.source().substring(origin.start(), origin.end());
+        StringBuilder out = new StringBuilder(length());
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // a StringBuilder doesn't throw
+        }
+        return out.toString();
+    }
 }
@@ -0,0 +1,124 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/** Splits the input into documents in a single pass over the characters, based on the {@link PullParser} events */
+class Tokenizer implements Iterator<Document> {
+    static final String SEPARATOR = "\n---\n";
+    static final String COMMENT_PREFIX = "# ";
+
+    private final PullParser parser;
+    private final boolean lazy;
+    private final CommentPool comments;
+    private CharSequence input;
+    private boolean origins;
+
+    Tokenizer(CharSequence input) { this(input, false, null); }
+
+    /**
+     * @param lazy build the documents as views into the input, see {@link #lazyDocument}
+     * @param comments the pool to share the comments from, or <code>null</code>
+     */
+    Tokenizer(CharSequence input, boolean lazy, CommentPool comments) {
+        this.parser = new PullParser(input);
+        this.input = input;
+        this.lazy = lazy;
+        this.comments = comments;
+    }
+
+    Tokenizer reset(CharSequence input) {
+        parser.reset(input);
+        this.input = input;
+        this.origins = false;
+        return this;
+    }
+
+    /**
+     * Remember where the documents were parsed from, so a whole stream can be written by copying the input.
+     * Only for whole streams, as every document keeps the input from being garbage collected.
+     */
+    Tokenizer withOrigins() {
+        this.origins = true;
+        return this;
+    }
+
+    @Override public boolean hasNext() { return parser.hasNext(); }
+
+    @Override public Document next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        while (parser.next() != PullParser.Event.DOCUMENT_END)
+            ;
+        if (lazy)
+            return parser.lazyDocument();
+        Document document = parser.document(comments);
+        return origins ? withOrigin(document, input, parser.start(), parser.end()) : document;
+    }
+
+    /** The number of separator characters matched after <code>c</code>, given <code>matched</code> before */
+    static int match(int matched, char c) {
+        if (c == SEPARATOR.charAt(matched))
+            return matched + 1;
+        return (c == '\n') ? 1 : 0;
+    }
+
+    /** For when the first newline is not known yet: only a comment line has to be scanned for it */
+    static Document document(CharSequence text, int start, int end) { return document(text, start, end, firstNewline(text, start, end)); }
+
+    /** The first newline, if it ends a comment, else <code>-1</code> */
+    static int firstNewline(CharSequence text, int start, int end) {
+        if (isComment(text, start, end))
+            for (int i = start + COMMENT_PREFIX.length(); i < end; i++)
+                if (text.charAt(i) == '\n')
+                    return i;
+        return -1;
+    }
+
+    static Document document(CharSequence text, int start, int end, int firstNewline) { return document(text, start, end, firstNewline, null); }
+
+    static Document document(CharSequence text, int start, int end, int firstNewline, CommentPool comments) {
+        Document document = new Document();
+        if (isComment(text, start, end)) {
+            int commentEnd = commentEnd(end, firstNewline);
+            int commentStart = start + COMMENT_PREFIX.length();
+            document.comment((comments == null)
+                ? new Comment().text(text.subSequence(commentStart, commentEnd).toString())
+                : comments.comment(new CharSlice(text, commentStart, commentEnd)));
+            start = commentEnd;
+        }
+        if (start < end)
+            document.content(text.subSequence(start, end).toString());
+        return document;
+    }
+
+    static Document withOrigin(Document document, CharSequence text, int start, int end) {
+        if (text instanceof String) // immutable
+            document.origin((String) text, start, end);
+        return document;
+    }
+
+    /** Build a document that holds views into the <code>text</code> and creates Strings only when they are accessed */
+    static Document lazyDocument(CharSequence text, int start, int end, int firstNewline) {
+        return lazyDocument(text, start, end, firstNewline, false);
+    }
+
+    /** @param readOnly reject changes, e.g. for documents that are built on every access, so changes would get lost */
+    static Document lazyDocument(CharSequence text, int start, int end, int firstNewline, boolean readOnly) {
+        Comment comment = null;
+        if (isComment(text, start, end)) {
+            int commentEnd = commentEnd(end, firstNewline);
+            CharSlice commentText = new CharSlice(text, start + COMMENT_PREFIX.length(), commentEnd);
+            comment = readOnly ? new LazyComment.ReadOnly(commentText) : new LazyComment(commentText);
+            start = commentEnd;
+        }
+        CharSlice content = (start < end) ? new CharSlice(text, start, end) : null;
+        return readOnly ? new LazyDocument.ReadOnly(comment, content) : new LazyDocument(comment, content);
+    }
+
+    static int commentEnd(int end, int firstNewline) { return (firstNewline < 0 || firstNewline > end) ? end : firstNewline; }
+
+    static boolean isComment(CharSequence text, int start, int end) {
+        return end - start >= COMMENT_PREFIX.length()
+            && text.charAt(start) == COMMENT_PREFIX.charAt(0)
+            && text.charAt(start + 1) == COMMENT_PREFIX.charAt(1);
+    }
+}
@@ -0,0 +1,62 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class AsyncFileTokenizerTest {
+    @TempDir Path dir;
+
+    private Path file(String content) throws IOException {
+        return Files.write(dir.resolve("documents.txt"), content.getBytes(UTF_8));
+    }
+
+    @Test void shouldParseFile() throws IOException {
+        String input = "# one\nfirst\n---\n# two\n---\nthird";
+
+        Stream stream = Parser.parseAllFileAsync(file(input)).join();
+
+        assertThat(stream).isEqualTo(Parser.parseAll(input));
+    }
+
+    @Test void shouldParseEmptyFile() throws IOException {
+        Stream stream = Parser.parseAllFileAsync(file("")).join();
+
+        assertThat(stream.documents()).isEmpty();
+    }
+
+    @Test void shouldHandleSeparatorsAndCharactersSpanningBuffers() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 200; i++)
+            input.append(i == 0 ? "" : "\n---\n").append("# ä ").append(i).append("\n€ 😀 ").append(i);
+        List<Document> documents = new ArrayList<>();
+
+        AsyncFileTokenizer.parse(file(input.toString()), 7, documents::add).join();
+
+        assertThat(new Stream().documents(documents)).isEqualTo(Parser.parseAll(input.toString()));
+    }
+
+    @Test void shouldReplaceMalformedInputLikeSynchronousParsing() throws IOException {
+        Path path = Files.write(dir.resolve("broken.txt"), new byte[]{'a', (byte) 0xc3, '\n', '-', '-', '-', '\n', (byte) 0xff, 'b'});
+
+        Stream stream = Parser.parseAllFileAsync(path).join();
+
+        assertThat(stream).isEqualTo(Parser.parseAll(path));
+        assertThat(stream).hasToString("a\uFFFD\n---\n\uFFFDb");
+    }
+
+    @Test void shouldFailForMissingFile() {
+        CompletionException thrown = catchThrowableOfType(Parser.parseAllFileAsync(dir.resolve("missing"))::join, CompletionException.class);
+
+        assertThat(thrown).hasCauseInstanceOf(NoSuchFileException.class);
+    }
+}
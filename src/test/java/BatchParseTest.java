@@ -0,0 +1,36 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class BatchParseTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach void shutdown() { executor.shutdownNow(); }
+
+    @Test void shouldParseAllInputs() {
+        List<CompletableFuture<Stream>> futures = Parser.parseAllAsync(asList("a", "# b\n---\nc", ""), executor);
+
+        assertThat(futures.get(0).join()).hasToString("a");
+        assertThat(futures.get(1).join().documents()).hasSize(2);
+        assertThat(futures.get(2).join().documents()).isEmpty();
+    }
+
+    @Test void shouldCarryParseExceptionPerInput() {
+        List<CompletableFuture<Document>> futures = Parser.parseAsync(asList("a", "b\n---\nc", "d"), Parser::parseSingle, executor);
+
+        CompletionException thrown = catchThrowableOfType(futures.get(1)::join, CompletionException.class);
+
+        assertThat(thrown).hasCauseInstanceOf(ParseException.class);
+        assertThat(futures.get(0).join()).isEqualTo(new Document().content("a"));
+        assertThat(futures.get(2).join()).isEqualTo(new Document().content("d"));
+    }
+}
@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class ChannelWriterTest {
+    private static final String INPUT = "# one ü\nfirst € 😀\n---\n\n---\n# two\n---\nthird";
+
+    @Test void shouldWriteToStreamChannel() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ChannelWriter writer = new ChannelWriter(Channels.newChannel(out), 4, 3);
+
+        writer.write(Parser.parseAll(INPUT));
+        writer.write(Parser.parseAll(INPUT));
+
+        assertThat(new String(out.toByteArray(), UTF_8)).isEqualTo(INPUT + INPUT);
+    }
+
+    @Test void shouldGatherWritesToFileChannel(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("out.txt");
+
+        try (FileChannel channel = FileChannel.open(path, CREATE, WRITE)) {
+            new ChannelWriter(channel, 8, 2).write(Parser.parseAll(INPUT));
+        }
+
+        assertThat(new String(Files.readAllBytes(path), UTF_8)).isEqualTo(INPUT);
+    }
+
+    @Test void shouldJoinSurrogatesSplitAcrossAppends() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ChannelWriter writer = new ChannelWriter(Channels.newChannel(out));
+
+        writer.append('\uD83D').append('\uDE00').append("!");
+        writer.flush();
+
+        assertThat(new String(out.toByteArray(), UTF_8)).isEqualTo("😀!");
+    }
+
+    @Test void shouldReplaceMalformedSurrogatesInOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ChannelWriter writer = new ChannelWriter(Channels.newChannel(out));
+
+        writer.append("x\uD83D").append("\uD83Dyz");
+        writer.flush();
+
+        assertThat(new String(out.toByteArray(), UTF_8)).isEqualTo("x??yz");
+    }
+
+    @Test void shouldEncodeSurrogatePairIntoSmallestBuffer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ChannelWriter writer = new ChannelWriter(Channels.newChannel(out), 4, 1);
+
+        writer.append("x\uD83D\uDE00y");
+        writer.flush();
+
+        assertThat(new String(out.toByteArray(), UTF_8)).isEqualTo("x😀y");
+    }
+
+    @Test void shouldRejectBufferTooSmallForSurrogatePair() {
+        Throwable thrown = catchThrowable(() -> new ChannelWriter(Channels.newChannel(new ByteArrayOutputStream()), 3, 1));
+
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,40 @@
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class CommentPoolTest {
+    private final CommentPool pool = new CommentPool(2);
+
+    @Test void shouldShareEqualComments() {
+        Stream first = Parser.parseAll("# header\none\n---\n# header\ntwo", pool);
+        Stream second = Parser.parseAll("# header\nthree", pool);
+
+        assertThat(first).hasToString("# header\none\n---\n# header\ntwo");
+        assertThat(first.documents().get(1).comment()).isSameAs(first.documents().get(0).comment());
+        assertThat(second.documents().get(0).comment()).isSameAs(first.documents().get(0).comment());
+        assertThat(pool.misses()).isEqualTo(1);
+        assertThat(pool.hits()).isEqualTo(2);
+    }
+
+    @Test void shouldNotLetCallersChangeSharedComments() {
+        Comment shared = Parser.parseAll("# header\none", pool).documents().get(0).comment();
+
+        Throwable thrown = catchThrowable(() -> shared.text("changed"));
+
+        assertThat(thrown).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(Parser.parseAll("# header\ntwo", pool).documents().get(0).comment().text()).isEqualTo("header");
+    }
+
+    @Test void shouldEvictLeastRecentlyUsed() {
+        Comment a = pool.comment("a");
+        pool.comment("b");
+        pool.comment("a");
+        pool.comment("c");
+
+        assertThat(pool.comment("a")).isSameAs(a);
+        assertThat(pool.size()).isEqualTo(2);
+        assertThat(pool.evictions()).isEqualTo(1);
+        assertThat(pool).hasToString("CommentPool(size=2/2, hits=2, misses=3, evictions=1)");
+    }
+}
@@ -0,0 +1,46 @@
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class CompactStreamTest {
+    private static final String INPUT = "# one\nfirst\n---\n\n---\n# two\n---\nthird\n---\n";
+
+    @Test void shouldBehaveLikeParsedStream() {
+        Stream compact = Parser.parseAllCompact(INPUT);
+
+        assertThat(compact).isEqualTo(Parser.parseAll(INPUT));
+        assertThat(compact.hashCode()).isEqualTo(Parser.parseAll(INPUT).hashCode());
+        assertThat(compact).hasToString(INPUT);
+        assertThat(compact.documents().get(2)).isEqualTo(new Document().comment(new Comment().text("two")));
+    }
+
+    @Test void shouldParseEmptyInput() {
+        assertThat(Parser.parseAllCompact("").documents()).isEmpty();
+    }
+
+    @Test void shouldGrowColumns() {
+        StringBuilder input = new StringBuilder("# 0");
+        for (int i = 1; i < 100; i++)
+            input.append("\n---\n# ").append(i);
+
+        Stream compact = Parser.parseAllCompact(input.toString());
+
+        assertThat(compact.documents()).hasSize(100);
+        assertThat(compact.documents().get(99)).isEqualTo(new Document().comment(new Comment().text("99")));
+    }
+
+    @Test void shouldNotAddDocuments() {
+        Throwable thrown = catchThrowable(() -> Parser.parseAllCompact(INPUT).document(new Document()));
+
+        assertThat(thrown).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test void shouldNotChangeDocuments() {
+        Stream compact = Parser.parseAllCompact(INPUT);
+
+        assertThat(catchThrowable(() -> compact.documents().get(1).content("changed"))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(catchThrowable(() -> compact.documents().get(2).comment().text("changed"))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(compact).hasToString(INPUT);
+    }
+}
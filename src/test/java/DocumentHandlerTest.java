@@ -0,0 +1,40 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentHandlerTest {
+    private final List<String> events = new ArrayList<>();
+
+    private class RecordingHandler implements DocumentHandler {
+        @Override public void startDocument() { events.add("start"); }
+
+        @Override public void comment(CharSequence text) { events.add("comment:" + text); }
+
+        @Override public void content(CharSequence text) { events.add("content:" + text); }
+
+        @Override public boolean endDocument() {
+            events.add("end");
+            return true;
+        }
+    }
+
+    @Test void shouldPushEvents() {
+        Parser.parse("# one\nfirst\n---\nsecond", new RecordingHandler());
+
+        assertThat(events).containsExactly("start", "comment:one", "content:\nfirst", "end", "start", "content:second", "end");
+    }
+
+    @Test void shouldStopAfterFirstDocument() {
+        Parser.parse("# one\n---\n# two", new RecordingHandler() {
+            @Override public boolean endDocument() {
+                super.endDocument();
+                return false;
+            }
+        });
+
+        assertThat(events).containsExactly("start", "comment:one", "end");
+    }
+}
@@ -0,0 +1,39 @@
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class DocumentIndexTest {
+    private static final String INPUT = "# one\nfirst\n---\n\n---\n---\n# two\n---\nthird\n---\n";
+
+    @Test void shouldIndexEmptyInput() {
+        assertThat(Parser.index("").size()).isZero();
+    }
+
+    @Test void shouldFetchSingleDocuments() {
+        DocumentIndex index = Parser.index(INPUT);
+
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.document(2)).isEqualTo(new Document().content("---\n# two"));
+        assertThat(index.document(0)).isEqualTo(new Document().comment(new Comment().text("one")).content("\nfirst"));
+        assertThat(index.start(4)).isEqualTo(INPUT.length());
+        assertThat(index.document(4)).isEqualTo(new Document());
+        assertThat(catchThrowable(() -> index.document(5))).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test void shouldViewAsStream() {
+        Stream stream = Parser.index(INPUT).stream();
+
+        assertThat(stream).isEqualTo(Parser.parseAll(INPUT));
+        assertThat(stream.toString()).isSameAs(INPUT);
+    }
+
+    @Test void shouldNotChangeStreamDocuments() {
+        Stream stream = Parser.index(INPUT).stream();
+
+        Throwable thrown = catchThrowable(() -> stream.documents().get(1).content("changed"));
+
+        assertThat(thrown).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(stream.toString()).isSameAs(INPUT);
+    }
+}
@@ -0,0 +1,60 @@
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+
+import java.io.Reader;
+import java.io.StringReader;
+
+public class DocumentPublisherTckTest extends PublisherVerification<Document> {
+    public DocumentPublisherTckTest() { super(new TestEnvironment()); }
+
+    @Override public Publisher<Document> createPublisher(long elements) {
+        if (elements > 1024)
+            return Parser.publisher(new GeneratingReader(elements));
+        StringBuilder input = new StringBuilder();
+        for (long i = 0; i < elements; i++)
+            input.append((i == 0) ? "" : "\n---\n").append(i);
+        return Parser.publisher(input.toString());
+    }
+
+    /** Generates the documents while they are read, as there can be too many to fit into a String */
+    private static class GeneratingReader extends Reader {
+        private final long elements;
+        private long generated;
+        private String pending = "";
+        private int position;
+
+        private GeneratingReader(long elements) { this.elements = elements; }
+
+        @Override public int read(char[] buffer, int offset, int length) {
+            if (position == pending.length()) {
+                if (generated == elements)
+                    return -1;
+                pending = ((generated == 0) ? "" : "\n---\n") + generated++;
+                position = 0;
+            }
+            int read = Math.min(length, pending.length() - position);
+            pending.getChars(position, position + read, buffer, offset);
+            position += read;
+            return read;
+        }
+
+        @Override public void close() {}
+    }
+
+    @Override public Publisher<Document> createFailedPublisher() {
+        Publisher<Document> publisher = Parser.publisher(new StringReader("a"));
+        publisher.subscribe(new Subscriber<Document>() {
+            @Override public void onSubscribe(Subscription subscription) { subscription.cancel(); }
+
+            @Override public void onNext(Document document) {}
+
+            @Override public void onError(Throwable throwable) {}
+
+            @Override public void onComplete() {}
+        });
+        return publisher; // a reader can be subscribed to only once
+    }
+}
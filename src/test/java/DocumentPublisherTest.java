@@ -0,0 +1,66 @@
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentPublisherTest {
+    private final List<String> signals = new ArrayList<>();
+    private Subscription subscription;
+
+    private class RecordingSubscriber implements Subscriber<Document> {
+        @Override public void onSubscribe(Subscription subscription) {
+            DocumentPublisherTest.this.subscription = subscription;
+        }
+
+        @Override public void onNext(Document document) { signals.add("next:" + document); }
+
+        @Override public void onError(Throwable throwable) { signals.add("error:" + throwable.getMessage()); }
+
+        @Override public void onComplete() { signals.add("complete"); }
+    }
+
+    @Test void shouldPublishOnlyRequestedDocuments() {
+        String input = "# one\n---\n# two\n---\n# three";
+        int limit = input.lastIndexOf(Tokenizer.SEPARATOR) + Tokenizer.SEPARATOR.length();
+        Reader reader = new StringReader(input) {
+            private int position;
+
+            @Override public int read(char[] buffer, int offset, int length) throws IOException {
+                if (position >= limit)
+                    throw new IOException("read beyond the document after the requested one");
+                int read = super.read(buffer, offset, 1);
+                position += Math.max(read, 0);
+                return read;
+            }
+        };
+        Parser.publisher(reader).subscribe(new RecordingSubscriber());
+
+        subscription.request(1);
+
+        assertThat(signals).containsExactly("next:# one");
+    }
+
+    @Test void shouldCompleteWhenExactlyAllDocumentsAreRequested() {
+        Parser.publisher(new StringReader("a\n---\nb")).subscribe(new RecordingSubscriber());
+
+        subscription.request(2);
+
+        assertThat(signals).containsExactly("next:a", "next:b", "complete");
+    }
+
+    @Test void shouldRejectSecondSubscriberToReader() {
+        DocumentPublisher publisher = Parser.publisher(new StringReader("a"));
+        publisher.subscribe(new RecordingSubscriber());
+
+        publisher.subscribe(new RecordingSubscriber());
+
+        assertThat(signals).containsExactly("error:a reader can be subscribed to only once");
+    }
+}
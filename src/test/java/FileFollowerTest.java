@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.Arrays.copyOfRange;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class FileFollowerTest {
+    @TempDir Path dir;
+    private final BlockingQueue<Document> documents = new LinkedBlockingQueue<>();
+    private FileFollower follower;
+
+    @AfterEach void close() throws IOException {
+        if (follower != null)
+            follower.close();
+    }
+
+    private Path append(String text) throws IOException {
+        return Files.write(dir.resolve("audit.log"), text.getBytes(UTF_8), CREATE, APPEND);
+    }
+
+    private Document next() throws InterruptedException { return documents.poll(5, SECONDS); }
+
+    @Test void shouldEmitDocumentsWhenTheirSeparatorIsAppended() throws Exception {
+        Path path = append("# one\nfirst\n---\n# two\n");
+        follower = Parser.follow(path, documents::add);
+
+        assertThat(next()).isEqualTo(new Document().comment(new Comment().text("one")).content("\nfirst"));
+        assertThat(documents.poll(300, MILLISECONDS)).isNull();
+
+        append("second\n-");
+        append("--\nthird");
+
+        assertThat(next()).isEqualTo(new Document().comment(new Comment().text("two")).content("\nsecond"));
+        assertThat(documents.poll(300, MILLISECONDS)).isNull();
+    }
+
+    @Test void shouldWaitForFileToBeCreated() throws Exception {
+        follower = Parser.follow(dir.resolve("audit.log"), documents::add);
+
+        append("a\n---\n");
+
+        assertThat(next()).isEqualTo(new Document().content("a"));
+    }
+
+    @Test void shouldDecodeCharactersSplitBetweenAppends() throws Exception {
+        Path path = append("");
+        follower = Parser.follow(path, documents::add);
+        byte[] bytes = "ä€\n---\n".getBytes(UTF_8);
+
+        Files.write(path, new byte[]{bytes[0], bytes[1], bytes[2]}, APPEND);
+        Thread.sleep(200);
+        Files.write(path, copyOfRange(bytes, 3, bytes.length), APPEND);
+
+        assertThat(next()).isEqualTo(new Document().content("ä€"));
+    }
+
+    @Test void shouldReplaceMalformedInputAndKeepFollowing() throws Exception {
+        Path path = Files.write(dir.resolve("audit.log"), new byte[]{'a', (byte) 0xff, '\n', '-', '-', '-', '\n'});
+        follower = Parser.follow(path, documents::add);
+
+        assertThat(next()).isEqualTo(new Document().content("a\uFFFD"));
+
+        append("b\n---\n");
+
+        assertThat(next()).isEqualTo(new Document().content("b"));
+    }
+
+    @Test void shouldStopWhenClosed() throws Exception {
+        follower = Parser.follow(append("a\n---\n"), documents::add);
+        next();
+
+        follower.close();
+        append("b\n---\n");
+
+        assertThat(follower.stopped()).isCompleted();
+        assertThat(documents.poll(300, MILLISECONDS)).isNull();
+    }
+
+    @Test void shouldStopWhenCallbackFails() throws Exception {
+        follower = Parser.follow(append("a\n---\n"), document -> { throw new IllegalStateException("boom"); });
+
+        ExecutionException thrown = catchThrowableOfType(() -> follower.stopped().get(5, SECONDS), ExecutionException.class);
+
+        assertThat(thrown).hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,70 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileIndexTest {
+    private static final String INPUT = "# one ü\nfirst ü\n---\n\n---\n---\nb\n----\n# two\n---\n#no comment\n---\n# three";
+
+    @TempDir Path dir;
+
+    private Path givenFile(String input) throws IOException { return Files.write(dir.resolve("input.txt"), input.getBytes(UTF_8)); }
+
+    @Test void shouldBuildSidecarAndFetchDocuments() throws IOException {
+        Path path = givenFile(INPUT);
+        Stream expected = Parser.parseAll(INPUT);
+
+        try (FileIndex index = Parser.index(path)) {
+            assertThat(index.rebuilt()).isTrue();
+            assertThat(index.size()).isEqualTo(expected.documents().size());
+            for (int i = 0; i < index.size(); i++)
+                assertThat(index.document(i)).isEqualTo(expected.documents().get(i));
+        }
+        assertThat(FileIndex.sidecar(path)).exists();
+    }
+
+    @Test void shouldFetchDocumentsFromSeveralRegions() throws IOException {
+        Path path = givenFile(INPUT);
+        Stream expected = Parser.parseAll(INPUT);
+
+        try (FileIndex index = new FileIndex(path, 24)) {
+            for (int i = index.size() - 1; i >= 0; i--)
+                assertThat(index.document(i)).isEqualTo(expected.documents().get(i));
+        }
+    }
+
+    @Test void shouldReuseSidecar() throws IOException {
+        Path path = givenFile(INPUT);
+        Parser.index(path).close();
+
+        try (FileIndex index = Parser.index(path)) {
+            assertThat(index.rebuilt()).isFalse();
+            assertThat(index.document(1)).isEqualTo(new Document());
+        }
+    }
+
+    @Test void shouldRebuildSidecarWhenSourceChanged() throws IOException {
+        Path path = givenFile(INPUT);
+        FileTime modified = Files.getLastModifiedTime(path);
+        Parser.index(path).close();
+        givenFile(INPUT.replace("first", "FIRST"));
+        Files.setLastModifiedTime(path, modified);
+
+        try (FileIndex index = Parser.index(path)) {
+            assertThat(index.rebuilt()).isTrue();
+            assertThat(index.document(0).content()).isEqualTo("\nFIRST ü");
+        }
+    }
+
+    @Test void shouldIndexEmptyFile() throws IOException {
+        try (FileIndex index = Parser.index(givenFile(""))) {
+            assertThat(index.size()).isZero();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class ImmutableDocumentTest {
+    private static final Document DOCUMENT = new Document().comment(new Comment().text("header")).content("\nbody");
+
+    @Test void shouldBuildDocumentEqualToMutableDocument() {
+        ImmutableDocument document = ImmutableDocument.builder().comment("header").content("\nbody").build();
+
+        assertThat(document).isEqualTo(DOCUMENT);
+        assertThat(DOCUMENT).isEqualTo(document);
+        assertThat(document.hashCode()).isEqualTo(DOCUMENT.hashCode());
+        assertThat(document).hasToString("# header\nbody");
+    }
+
+    @Test void shouldDeduplicateInSet() {
+        Set<Document> set = new HashSet<>();
+        for (Document document : Parser.parseAll("# a\n---\n# b\n---\n# a").documents())
+            set.add(ImmutableDocument.of(document));
+
+        assertThat(set).hasSize(2);
+    }
+
+    @Test void shouldNotChangeDocument() {
+        ImmutableDocument document = ImmutableDocument.of(DOCUMENT);
+
+        assertThat(catchThrowable(() -> document.content("x"))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(catchThrowable(() -> document.comment(null))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(catchThrowable(() -> document.comment().text("x"))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(ImmutableDocument.of(document)).isSameAs(document);
+    }
+}
@@ -0,0 +1,59 @@
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalParserTest {
+    private static final String ORIGINAL = "# one\nfirst\n---\n# two\nsecond\n---\n# three\nthird";
+
+    private static Stream whenReparse(Stream previous, int editStart, int editEnd, String replacement) {
+        Stream stream = Parser.reparse(previous, ORIGINAL, editStart, editEnd, replacement);
+
+        String edited = ORIGINAL.substring(0, editStart) + replacement + ORIGINAL.substring(editEnd);
+        assertThat(stream).isEqualTo(Parser.parseAll(edited));
+        assertThat(stream).hasToString(edited);
+        return stream;
+    }
+
+    @Test void shouldReuseUntouchedDocuments() {
+        Stream previous = Parser.parseAll(ORIGINAL);
+
+        Stream stream = whenReparse(previous, 22, 28, "2nd");
+
+        assertThat(stream.documents().get(0)).isSameAs(previous.documents().get(0));
+        assertThat(stream.documents().get(1)).isNotSameAs(previous.documents().get(1));
+        assertThat(stream.documents().get(2)).isSameAs(previous.documents().get(2));
+    }
+
+    @Test void shouldSplitDocument() {
+        Stream previous = Parser.parseAll(ORIGINAL);
+
+        Stream stream = whenReparse(previous, 22, 22, "\n---\n");
+
+        assertThat(stream.documents()).hasSize(4);
+        assertThat(stream.documents().get(3)).isSameAs(previous.documents().get(2));
+    }
+
+    @Test void shouldJoinDocuments() {
+        Stream previous = Parser.parseAll(ORIGINAL);
+
+        Stream stream = whenReparse(previous, 11, 16, "");
+
+        assertThat(stream.documents()).hasSize(2);
+        assertThat(stream.documents().get(1)).isSameAs(previous.documents().get(2));
+    }
+
+    @Test void shouldReparseDeletionOfEverything() {
+        Stream stream = whenReparse(Parser.parseAll(ORIGINAL), 0, ORIGINAL.length(), "");
+
+        assertThat(stream.documents()).isEmpty();
+    }
+
+    @Test void shouldReparseEveryEdit() {
+        Stream previous = Parser.parseAll(ORIGINAL);
+
+        for (int start = 0; start <= ORIGINAL.length(); start++)
+            for (int end = start; end <= Math.min(start + 6, ORIGINAL.length()); end++)
+                for (String replacement : new String[]{"", "x", "\n", "-", "\n---\n", "---\n# c\n"})
+                    whenReparse(previous, start, end, replacement);
+    }
+}
@@ -0,0 +1,42 @@
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyDocumentTest {
+    private static final String INPUT = "# one\nfirst\n---\n\n---\n# two\n---\nthird";
+
+    @Test void shouldBehaveLikeEagerDocuments() {
+        Stream lazy = Parser.parseAllLazy(INPUT);
+        Stream eager = Parser.parseAll(INPUT);
+
+        assertThat(lazy).isEqualTo(eager);
+        assertThat(lazy.hashCode()).isEqualTo(eager.hashCode());
+        assertThat(lazy).hasToString(INPUT);
+        for (int i = 0; i < eager.documents().size(); i++) {
+            assertThat(lazy.documents().get(i)).hasToString(eager.documents().get(i).toString());
+            assertThat(eager.documents().get(i)).isEqualTo(lazy.documents().get(i));
+        }
+    }
+
+    @Test void shouldMeasureLengthWithoutCopying() {
+        Document document = Parser.parseAllLazy(INPUT).documents().get(0);
+
+        assertThat(document.length()).isEqualTo("# one\nfirst".length());
+    }
+
+    @Test void shouldOverwriteLazyContent() {
+        Document document = Parser.parseAllLazy(INPUT).documents().get(0);
+
+        document.content("changed").comment().text("new");
+
+        assertThat(document).hasToString("# newchanged");
+    }
+
+    @Test void shouldSliceWithoutCopying() {
+        CharSequence slice = new CharSlice("abcdef", 1, 5).subSequence(1, 3);
+
+        assertThat(slice.length()).isEqualTo(2);
+        assertThat(slice.charAt(0)).isEqualTo('c');
+        assertThat(slice).hasToString("cd");
+    }
+}
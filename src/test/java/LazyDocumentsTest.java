@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class LazyDocumentsTest {
+    private static final String INPUT = "# one\n---\n# two\n---\n# three";
+
+    /** Delivers one character at a time, and fails when read past the second separator */
+    private static Reader failingAfterSecondSeparator() {
+        int limit = INPUT.indexOf(Tokenizer.SEPARATOR, INPUT.indexOf(Tokenizer.SEPARATOR) + 1) + Tokenizer.SEPARATOR.length();
+        return new StringReader(INPUT) {
+            private int position;
+
+            @Override public int read(char[] buffer, int offset, int length) throws IOException {
+                if (position >= limit)
+                    throw new IOException("read beyond second separator");
+                int read = super.read(buffer, offset, 1);
+                position += Math.max(read, 0);
+                return read;
+            }
+        };
+    }
+
+    @Test void shouldStopParseFirstAtFirstDocument() {
+        Document first = Parser.parseFirst(failingAfterSecondSeparator());
+
+        assertThat(first).isEqualTo(new Document().comment(new Comment().text("one")));
+    }
+
+    @Test void shouldStopParseSingleAtSecondDocument() {
+        ParseException thrown = catchThrowableOfType(() -> Parser.parseSingle(failingAfterSecondSeparator()), ParseException.class);
+
+        assertThat(thrown).hasMessage("expected exactly one document, but found at least 2");
+    }
+
+    @Test void shouldParseOnlyPulledDocuments() {
+        Reader reader = new StringReader("# one\n---\n# two\n---\n# three") {
+            private boolean read;
+
+            @Override public int read(char[] buffer, int offset, int length) throws IOException {
+                if (read)
+                    throw new IOException("read beyond first chunk");
+                read = true;
+                return super.read(buffer, offset, 13);
+            }
+        };
+
+        Document first = Parser.documents(reader).findFirst().orElseThrow(AssertionError::new);
+
+        assertThat(first).isEqualTo(new Document().comment(new Comment().text("one")));
+    }
+
+    @Test void shouldFilterAndLimit() {
+        String input = "a\n---\nb\n---\na\n---\nc\n---\na";
+
+        assertThat(Parser.documents(input).filter(document -> "a".equals(document.content())).limit(2).collect(toList()))
+            .containsExactly(new Document().content("a"), new Document().content("a"));
+    }
+}
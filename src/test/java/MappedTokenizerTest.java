@@ -0,0 +1,58 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class MappedTokenizerTest {
+    private static final String INPUT = "# one ü\nfirst ü\n---\n\n---\n---\nb\n----\n# two\n\n---\n";
+
+    @TempDir Path dir;
+
+    private Path givenFile(String input) throws IOException { return Files.write(dir.resolve("input.txt"), input.getBytes(UTF_8)); }
+
+    @Test void shouldParseAllMapped() throws IOException {
+        Path path = givenFile(INPUT);
+
+        Stream stream = Parser.parseAllMapped(path);
+
+        assertThat(stream).isEqualTo(Parser.parseAll(INPUT));
+        assertThat(stream).hasToString(INPUT);
+    }
+
+    @Test void shouldParseEmptyFile() throws IOException {
+        Path path = givenFile("");
+
+        assertThat(Parser.parseAllMapped(path).documents()).isEmpty();
+    }
+
+    @Test void shouldRemapRegionsAtDocumentStarts() throws IOException {
+        Path path = givenFile(INPUT);
+        Stream stream = new Stream();
+
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            new MappedTokenizer(channel, 24).forEachRemaining(stream::document);
+        }
+
+        assertThat(stream).isEqualTo(Parser.parseAll(INPUT));
+    }
+
+    @Test void shouldFailToMapDocumentBiggerThanRegion() throws IOException {
+        Path path = givenFile(INPUT);
+
+        ParseException thrown;
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            MappedTokenizer tokenizer = new MappedTokenizer(channel, 8);
+            thrown = catchThrowableOfType(tokenizer::next, ParseException.class);
+        }
+
+        assertThat(thrown).hasMessage("document at 0 is too big to be mapped");
+    }
+}
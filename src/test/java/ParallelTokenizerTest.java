@@ -0,0 +1,21 @@
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelTokenizerTest {
+    @Test void shouldParseEmptyInput() {
+        assertThat(Parser.parseAllParallel("").documents()).isEmpty();
+    }
+
+    @Test void shouldParseLikeSequentialParser() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 20_000; i++)
+            input.append("# comment ").append(i).append("\ncontent\n---\n").append((i % 7 == 0) ? "---\n" : "");
+        String text = input.toString();
+
+        Stream stream = Parser.parseAllParallel(text);
+
+        assertThat(stream).isEqualTo(Parser.parseAll(text));
+        assertThat(stream).hasToString(text);
+    }
+}
@@ -0,0 +1,50 @@
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class ParseCacheTest {
+    private final ParseCache cache = new ParseCache(2, 1000);
+
+    @Test void shouldHitOnSameInput() {
+        Stream first = cache.parseAll("# a\n---\nb");
+        Stream second = cache.parseAll(new String("# a\n---\nb"));
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first).hasToString("# a\n---\nb");
+        assertThat(second.documents().get(0)).isSameAs(first.documents().get(0));
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test void shouldNotShareMutations() {
+        Stream first = cache.parseAll("# a\n---\nb");
+
+        first.documents().clear();
+        Throwable thrown = catchThrowable(() -> cache.parseAll("# a\n---\nb").documents().get(1).content("x"));
+
+        assertThat(thrown).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(cache.parseAll("# a\n---\nb")).hasToString("# a\n---\nb");
+    }
+
+    @Test void shouldEvictLeastRecentlyUsedEntry() {
+        cache.parseAll("a");
+        cache.parseAll("b");
+        cache.parseAll("a");
+        cache.parseAll("c");
+        cache.parseAll("a");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictions()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(2);
+    }
+
+    @Test void shouldEvictBySize() {
+        ParseCache small = new ParseCache(10, 300);
+
+        small.parseAll("0123456789012345678901234567890123456789");
+        small.parseAll("abcdefghijabcdefghijabcdefghijabcdefghij");
+
+        assertThat(small.size()).isEqualTo(1);
+        assertThat(small.bytes()).isLessThanOrEqualTo(300);
+    }
+}
@@ -0,0 +1,47 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class ParserInstanceTest {
+    private final Parser parser = new Parser();
+
+    @Test void shouldReuseInstance() {
+        assertThat(parser.all("# one\n---\ntwo")).hasToString("# one\n---\ntwo");
+        assertThat(parser.first(new StringReader("# three\n---\nfour"))).isEqualTo(new Document().comment(new Comment().text("three")));
+        assertThat(parser.single("five")).isEqualTo(new Document().content("five"));
+        assertThat(parser.reset().all(new StringReader("")).documents()).isEmpty();
+    }
+
+    @Test void shouldStayUsableAfterFailure() {
+        ParseException thrown = catchThrowableOfType(() -> parser.single("a\n---\nb"), ParseException.class);
+
+        assertThat(thrown).hasMessage("expected exactly one document, but found at least 2");
+        assertThat(parser.single("c")).isEqualTo(new Document().content("c"));
+    }
+
+    @Test void shouldShareCommentsFromPool() {
+        Parser pooled = new Parser(new CommentPool(10));
+
+        Document first = pooled.first("# header\na");
+        Document second = pooled.first("# header\nb");
+        Document read = pooled.first(new StringReader("# header\nc\n---\nd"));
+
+        assertThat(second.comment()).isSameAs(first.comment());
+        assertThat(read.comment()).isSameAs(first.comment());
+    }
+
+    @Test void shouldParseReentrantWithDefaultParser() {
+        StringReader reader = new StringReader("outer") {
+            @Override public int read(char[] buffer, int offset, int length) throws IOException {
+                assertThat(Parser.parseSingle("inner")).isEqualTo(new Document().content("inner"));
+                return super.read(buffer, offset, length);
+            }
+        };
+
+        assertThat(Parser.parseSingle(reader)).isEqualTo(new Document().content("outer"));
+    }
+}
@@ -0,0 +1,46 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PullParserTest {
+    private static List<String> events(String input) {
+        List<String> events = new ArrayList<>();
+        PullParser parser = new PullParser(input);
+        while (parser.hasNext())
+            events.add(parser.next() + ":" + parser.text());
+        return events;
+    }
+
+    @Test void shouldPullNoEventsFromEmptyInput() {
+        assertThat(events("")).isEmpty();
+    }
+
+    @Test void shouldPullCommentAndContentEvents() {
+        assertThat(events("# one\nfirst\n---\n\n---\n# two")).containsExactly(
+            "DOCUMENT_START:# one\nfirst",
+            "COMMENT:one",
+            "CONTENT:\nfirst",
+            "DOCUMENT_END:# one\nfirst",
+            "DOCUMENT_START:",
+            "DOCUMENT_END:",
+            "DOCUMENT_START:# two",
+            "COMMENT:two",
+            "DOCUMENT_END:# two");
+    }
+
+    @Test void shouldPullOffsets() {
+        PullParser parser = new PullParser("a\n---\n# b");
+        parser.next();
+        parser.next();
+        parser.next();
+
+        assertThat(parser.next()).isEqualTo(PullParser.Event.DOCUMENT_START);
+        assertThat(parser.next()).isEqualTo(PullParser.Event.COMMENT);
+        assertThat(parser.start()).isEqualTo(8);
+        assertThat(parser.end()).isEqualTo(9);
+        assertThat(parser.document()).isEqualTo(new Document().comment(new Comment().text("b")));
+    }
+}
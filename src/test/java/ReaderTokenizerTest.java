@@ -0,0 +1,44 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReaderTokenizerTest {
+    private static final String INPUT = "# one\nfirst ü\n---\n\n---\n---\nb\n----\n# two\n\n---\n";
+
+    @Test void shouldParseAcrossAllBufferBoundaries() {
+        Stream expected = Parser.parseAll(INPUT);
+
+        for (int bufferSize = 1; bufferSize <= INPUT.length(); bufferSize++) {
+            Stream stream = new Stream();
+            new ReaderTokenizer(new StringReader(INPUT), bufferSize).forEachRemaining(stream::document);
+
+            assertThat(stream).as("buffer size " + bufferSize).isEqualTo(expected);
+        }
+    }
+
+    @Test void shouldParseEmptyReader() {
+        assertThat(Parser.parseAll(new StringReader("")).documents()).isEmpty();
+    }
+
+    @Test void shouldParseInputStream() {
+        Stream stream = Parser.parseAll(new ByteArrayInputStream(INPUT.getBytes(UTF_8)), UTF_8);
+
+        assertThat(stream).hasToString(INPUT);
+    }
+
+    @Test void shouldParseFirstOfPath(@TempDir Path dir) throws IOException {
+        Path path = Files.write(dir.resolve("input.txt"), INPUT.getBytes(UTF_8));
+
+        Document document = Parser.parseFirst(path);
+
+        assertThat(document).isEqualTo(new Document().comment(new Comment().text("one")).content("\nfirst ü"));
+    }
+}
@@ -0,0 +1,54 @@
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoundTripTest {
+    private static final String INPUT = "# one\nfirst\n---\n\n---\n# two\n---\nthird";
+
+    @Test void shouldReturnOriginalInput() {
+        Stream stream = Parser.parseAll(INPUT);
+
+        assertThat(stream.toString()).isSameAs(INPUT);
+    }
+
+    @Test void shouldWriteChangedContent() {
+        Stream stream = Parser.parseAll(INPUT);
+
+        stream.documents().get(1).content("second");
+
+        assertThat(stream).hasToString("# one\nfirst\n---\nsecond\n---\n# two\n---\nthird");
+    }
+
+    @Test void shouldWriteChangedCommentText() {
+        Stream stream = Parser.parseAll(INPUT);
+
+        stream.documents().get(2).comment().text("2");
+
+        assertThat(stream).hasToString("# one\nfirst\n---\n\n---\n# 2\n---\nthird");
+        assertThat(stream.documents().get(2)).hasToString("# 2");
+    }
+
+    @Test void shouldWriteReorderedDocuments() {
+        Stream stream = Parser.parseAll(INPUT);
+
+        stream.documents().add(stream.documents().remove(0));
+
+        assertThat(stream).hasToString("\n---\n# two\n---\nthird\n---\n# one\nfirst");
+    }
+
+    @Test void shouldCopyUnchangedSubList() {
+        Stream stream = Parser.parseAll(INPUT);
+
+        stream.documents().remove(0);
+
+        assertThat(stream).hasToString("\n---\n# two\n---\nthird");
+        assertThat(stream.documents().get(1)).hasToString("# two");
+    }
+
+    @Test void shouldNotKeepInputForSingleDocuments() {
+        assertThat(Parser.parseAll(INPUT).documents().get(0).origin()).isNotNull();
+        assertThat(Parser.parseFirst(INPUT).origin()).isNull();
+        assertThat(Parser.parseSingle("# one\nfirst").origin()).isNull();
+        assertThat(Parser.index(INPUT).document(3).origin()).isNull();
+    }
+}
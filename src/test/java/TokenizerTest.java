@@ -0,0 +1,67 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenizerTest {
+
+
+    private String input;
+
+
+    ///////////////////////////////////////////////////////////////////////// GIVEN
+
+    @Nested class GivenCommentAndContent {
+        @BeforeEach void givenCommentAndContent() {
+            input = "# header\nkey: value\n# not a comment";
+        }
+
+        @Test void shouldParseAll() {
+            Stream stream = whenParseAll();
+
+            assertThat(stream.documents()).containsExactly(
+                new Document().comment(new Comment().text("header")).content("\nkey: value\n# not a comment"));
+            assertThat(stream).hasToString(input);
+        }
+    }
+
+
+    @Nested class GivenEmptyDocumentsBetweenSeparators {
+        @BeforeEach void givenEmptyDocumentsBetweenSeparators() {
+            input = "a\n---\n\n---\nb\n---\n";
+        }
+
+        @Test void shouldParseAll() {
+            Stream stream = whenParseAll();
+
+            assertThat(stream.documents()).containsExactly(
+                new Document().content("a"),
+                new Document(),
+                new Document().content("b"),
+                new Document());
+            assertThat(stream).hasToString(input);
+        }
+    }
+
+
+    @Nested class GivenSeparatorLookalikes {
+        @BeforeEach void givenSeparatorLookalikes() {
+            input = "---\na\n--\nb\n----\nc\n\n---\n---\nd";
+        }
+
+        @Test void shouldParseAll() {
+            Stream stream = whenParseAll();
+
+            assertThat(stream.documents()).containsExactly(
+                new Document().content("---\na\n--\nb\n----\nc\n"),
+                new Document().content("---\nd"));
+            assertThat(stream).hasToString(input);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////// WHEN
+
+    private Stream whenParseAll() { return Parser.parseAll(input); }
+}
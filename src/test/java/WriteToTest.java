@@ -0,0 +1,31 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteToTest {
+    private static final String INPUT = "# one\nfirst\n---\n\n---\n# two\n---\nthird";
+
+    @Test void shouldWriteStreamToWriter() throws IOException {
+        StringWriter out = new StringWriter();
+
+        Parser.parseAll(INPUT).writeTo(out);
+
+        assertThat(out).hasToString(INPUT);
+    }
+
+    @Test void shouldWriteLazyStreamToWriter() throws IOException {
+        StringWriter out = new StringWriter();
+
+        Parser.parseAllLazy(INPUT).writeTo(out);
+
+        assertThat(out).hasToString(INPUT);
+    }
+
+    @Test void shouldMeasureLength() {
+        assertThat(Parser.parseAll(INPUT).length()).isEqualTo(INPUT.length());
+        assertThat(new Stream().length()).isZero();
+    }
+}
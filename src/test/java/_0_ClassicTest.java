@@ -137,6 +137,6 @@ class _0_ClassicTest {
 
         ParseException thrown = whenParseSingleThrows();
 
-        assertThat(thrown).hasMessage("expected exactly one document, but found 2");
+        assertThat(thrown).hasMessage("expected exactly one document, but found at least 2");
     }
 }
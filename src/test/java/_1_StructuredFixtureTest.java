@@ -116,7 +116,7 @@ class _1_StructuredFixtureTest {
 
             ParseException thrown = whenParseSingleThrows();
 
-            assertThat(thrown).hasMessage("expected exactly one document, but found 2");
+            assertThat(thrown).hasMessage("expected exactly one document, but found at least 2");
         }
     }
 
@@ -112,7 +112,7 @@ class _2_GroupedFixturesTest {
         @Test void shouldFailToParseSingle() {
             ParseException thrown = whenParseSingleThrows();
 
-            assertThat(thrown).hasMessage("expected exactly one document, but found 2");
+            assertThat(thrown).hasMessage("expected exactly one document, but found at least 2");
         }
     }
 
@@ -88,7 +88,7 @@ class _4b_WhenVerifyBuilderTest {
         }
 
         @Override protected void verifyParseSingleException(ParseException thrown) {
-            assertThat(thrown).hasMessage("expected exactly one document, but found 2");
+            assertThat(thrown).hasMessage("expected exactly one document, but found at least 2");
         }
     }
 
@@ -96,7 +96,7 @@ class _5_WhenInterfaceTest {
         }
 
         @Override public void verifyParseSingleException(ParseException thrown) {
-            assertThat(thrown).hasMessage("expected exactly one document, but found 2");
+            assertThat(thrown).hasMessage("expected exactly one document, but found at least 2");
         }
     }
 
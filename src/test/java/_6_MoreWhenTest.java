@@ -95,7 +95,7 @@ class _6_MoreWhenTest {
         }
 
         @Override public void verifyParseSingleException(ParseException thrown) {
-            assertThat(thrown).hasMessage("expected exactly one document, but found 2");
+            assertThat(thrown).hasMessage("expected exactly one document, but found at least 2");
         }
     }
 
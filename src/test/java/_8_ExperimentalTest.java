@@ -148,6 +148,6 @@ class _8_ExperimentalTest {
     }
 
     interface ThenThrowsExpectedExactlyOneButFoundTwo {
-        @Test default void thenThrowsExpectedExactlyOneButFoundTwo() { assertThat(thrown).hasMessage("expected exactly one document, but found 2"); }
+        @Test default void thenThrowsExpectedExactlyOneButFoundTwo() { assertThat(thrown).hasMessage("expected exactly one document, but found at least 2"); }
     }
 }
@@ -85,7 +85,7 @@ class _9_CompactTest {
             val expected2 = new Document().comment(new Comment().text("test comment 2"));
             allThen = () -> assertThat(stream.documents()).isEqualTo(asList(expected1, expected2));
             firstThen = () -> assertThat(document).isEqualTo(expected1);
-            singleThen = () -> assertThat(thrown).hasMessage("expected exactly one document, but found 2");
+            singleThen = () -> assertThat(thrown).hasMessage("expected exactly one document, but found at least 2");
         }
     }
 }